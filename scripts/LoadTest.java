@@ -0,0 +1,120 @@
+// LoadTest.java
+// Closed-loop load generator used by load_test.sh when wrk is not installed; needs only a JDK 11+.
+// Every connection sends its next request as soon as the previous response arrived.
+// usage: java scripts/LoadTest.java <url> <connections> <duration_seconds> [access_token]
+// with an access token it sends POST /api/posts instead of GET
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadTest {
+    private static final int MAX_SAMPLES = 10_000_000;
+
+    private final HttpClient client;
+    private final URI uri;
+    private final String accessToken;
+    private final long deadline;
+    private final long[] latencies = new long[MAX_SAMPLES];
+    private final AtomicInteger samples = new AtomicInteger();
+    private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final AtomicLong counter = new AtomicLong();
+    private final CountDownLatch done;
+
+    private LoadTest(URI uri, int connections, Duration duration, String accessToken) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        this.uri = uri;
+        this.accessToken = accessToken;
+        this.deadline = System.nanoTime() + duration.toNanos();
+        this.done = new CountDownLatch(connections);
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int connections = Integer.parseInt(args[1]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+        String accessToken = args.length > 3 ? args[3] : null;
+
+        LoadTest test = new LoadTest(uri, connections, duration, accessToken);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < connections; i++) {
+            test.next();
+        }
+
+        test.done.await();
+        test.report(Duration.ofNanos(System.nanoTime() - start));
+        System.exit(0);
+    }
+
+    private void next() {
+        if (System.nanoTime() >= deadline) {
+            done.countDown();
+            return;
+        }
+
+        long sent = System.nanoTime();
+        client.sendAsync(request(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    String status = error == null ? String.valueOf(response.statusCode()) : error.getClass().getSimpleName();
+                    statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+                    int sample = samples.getAndIncrement();
+
+                    if (sample < MAX_SAMPLES) {
+                        latencies[sample] = System.nanoTime() - sent;
+                    }
+
+                    next();
+                });
+    }
+
+    private HttpRequest request() {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30));
+
+        if (accessToken == null) {
+            return builder.GET().build();
+        }
+
+        long n = counter.incrementAndGet();
+        String body = String.format("{\"title\":\"load test %d\",\"content\":\"load test content %d\"}", n, n);
+        return builder.header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + accessToken)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void report(Duration elapsed) {
+        int count = Math.min(samples.get(), MAX_SAMPLES);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+
+        System.out.printf("  %d requests in %.1fs, %.1f requests/sec%n", count, elapsed.toMillis() / 1000.0,
+                count * 1000.0 / elapsed.toMillis());
+        System.out.printf("  latency p50 %.1fms, p90 %.1fms, p99 %.1fms, p99.9 %.1fms, max %.1fms%n",
+                percentile(sorted, 0.5), percentile(sorted, 0.9), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), percentile(sorted, 1.0));
+        System.out.println("  responses " + statuses);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
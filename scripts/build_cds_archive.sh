@@ -0,0 +1,45 @@
+# build_cds_archive.sh
+# !/bin/bash
+
+# Build a JDK 11 AppCDS archive for the application jar (used by the Dockerfile)
+# usage: ./scripts/build_cds_archive.sh <application.jar> <output_dir>
+
+APP_JAR=$1
+OUTPUT_DIR=$2
+TRAINING_TIMEOUT=${TRAINING_TIMEOUT:-180}
+
+if [ -z "${APP_JAR}" ] || [ -z "${OUTPUT_DIR}" ]; then
+  echo "> usage: $0 <application.jar> <output_dir>"
+  exit 1
+fi
+
+set -e
+
+mkdir -p ${OUTPUT_DIR}/lib ${OUTPUT_DIR}/exploded
+cd ${OUTPUT_DIR}/exploded
+jar xf ${APP_JAR}
+cd ${OUTPUT_DIR}
+
+# JDK 11 only shares classes loaded from jar files, so the application classes are jarred up again
+jar cf lib/application.jar -C exploded/BOOT-INF/classes .
+cp exploded/BOOT-INF/lib/*.jar lib/
+
+MAIN_CLASS=$(grep '^Start-Class:' exploded/META-INF/MANIFEST.MF | cut -d' ' -f2 | tr -d '\r')
+CLASSPATH=$(ls ${OUTPUT_DIR}/lib/*.jar | paste -sd:)
+echo "-cp ${CLASSPATH}" > classpath.args
+rm -rf exploded
+
+# training start: records every class loaded until the context is up, then exits
+# without a reachable database it stops at the JPA bootstrap, which still covers most of the framework classes
+echo "> Recording loaded classes of a training start."
+set +e
+timeout ${TRAINING_TIMEOUT} java -Xshare:off -XX:DumpLoadedClassList=classes.lst -Dexit-after-startup=true \
+  @classpath.args ${MAIN_CLASS} --spring.profiles.active=prod,fast-start \
+  --spring.jpa.generate-ddl=false --my-app.post-archive-interval=0s --logging.file.path=/tmp > training.log 2>&1
+echo "> Training start finished with exit code $?."
+set -e
+
+echo "> Dumping $(wc -l < classes.lst) classes into app.jsa."
+java -Xshare:dump -XX:SharedClassListFile=classes.lst -XX:SharedArchiveFile=app.jsa @classpath.args
+echo "${MAIN_CLASS}" > main.class
+rm classes.lst training.log
@@ -0,0 +1,39 @@
+# compare_benchmarks.sh
+# !/bin/bash
+
+# Compare two JMH json results (e.g. previous release vs current build)
+# usage: ./scripts/compare_benchmarks.sh <baseline.json> <current.json> [threshold_percent]
+
+BASELINE=$1
+CURRENT=$2
+THRESHOLD=${3:-10}
+
+if [ -z "${BASELINE}" ] || [ -z "${CURRENT}" ]; then
+  echo "> usage: $0 <baseline.json> <current.json> [threshold_percent]"
+  exit 1
+fi
+
+REGRESSED=0
+
+while IFS=$'\t' read -r NAME UNIT BASE CURR; do
+  DIFF=$(awk -v b="${BASE}" -v c="${CURR}" 'BEGIN { printf "%.1f", (c - b) / b * 100 }')
+  printf "%-70s %14.3f %14.3f %8s%% %s\n" "${NAME}" "${BASE}" "${CURR}" "${DIFF}" "${UNIT}"
+
+  if awk -v d="${DIFF}" -v t="${THRESHOLD}" 'BEGIN { exit !(d > t) }'; then
+    REGRESSED=1
+  fi
+done < <(jq -r -n --slurpfile base "${BASELINE}" --slurpfile curr "${CURRENT}" '
+  ($base[0] | map({key: (.benchmark + (.params // {} | tostring)), value: .primaryMetric.score}) | from_entries) as $b
+  | $curr[0][]
+  | (.benchmark + (.params // {} | tostring)) as $k
+  | select($b[$k] != null)
+  | [$k, .primaryMetric.scoreUnit, $b[$k], .primaryMetric.score]
+  | @tsv')
+
+if [ ${REGRESSED} -eq 1 ]; then
+  echo "> Regression over ${THRESHOLD}% detected."
+  exit 1
+fi
+
+echo "> No regression over ${THRESHOLD}%."
+exit 0
@@ -12,20 +12,24 @@ if [ ${CURRENT_PORT} -eq 8080 ]; then
 elif [ ${CURRENT_PORT} -eq 8081 ]; then
   TARGET_PORT=8080
 else
-  echo "> No WAS is connected to nginx" exit 1
+  echo "> No WAS is connected to nginx"
+  exit 1
 fi
 
-echo "> Start health check of WAS at 'http://127.0.0.1:${TARGET_PORT}' ..."
+echo "> Start readiness check of WAS at 'http://127.0.0.1:${TARGET_PORT}' ..."
 
-for RETRY_COUNT in 1 2 3 4 5 6 7 8 9 10
+# readiness only turns 200 after the warm-up, so nginx never switches to a cold WAS
+for RETRY_COUNT in $(seq 1 18)
 do
   echo "> #${RETRY_COUNT} trying..."
-  RESPONSE_CODE=$(curl -s -o /dev/null -w "%{http_code}" http://127.0.0.1:${TARGET_PORT}/health)
+  RESPONSE_CODE=$(curl -s -o /dev/null -w "%{http_code}" http://127.0.0.1:${TARGET_PORT}/health/readiness)
 
   if [ ${RESPONSE_CODE} -eq 200 ]; then
-    echo "> New WAS successfully running" exit 0
-  elif [ ${RETRY_COUNT} -eq 10 ]; then
-    echo "> Health check failed." exit 1
+    echo "> New WAS successfully running"
+    exit 0
+  elif [ ${RETRY_COUNT} -eq 18 ]; then
+    echo "> Health check failed."
+    exit 1
   fi
   sleep 10
-done
\ No newline at end of file
+done
@@ -0,0 +1,45 @@
+# load_test.sh
+# !/bin/bash
+
+# Measure throughput and tail latency of the post API with wrk, or with LoadTest.java when wrk is not installed
+# usage: ./scripts/load_test.sh [base_url] [connections] [duration]
+# set ACCESS_TOKEN to also load the write path (POST /api/posts)
+
+BASE_URL=${1:-http://127.0.0.1:8080}
+CONNECTIONS=${2:-2000}
+DURATION=${3:-60s}
+THREADS=${THREADS:-8}
+SCRIPT_DIR=$(cd "$(dirname "$0")" && pwd)
+
+# same arguments as wrk; the duration is taken in seconds
+load() {
+  if command -v wrk > /dev/null; then
+    wrk -t${THREADS} -c${CONNECTIONS} -d${DURATION} --latency --timeout 30s "$@"
+  elif [ "$1" = "-s" ]; then
+    java "${SCRIPT_DIR}/LoadTest.java" "$3" ${CONNECTIONS} ${DURATION%s} "${ACCESS_TOKEN}"
+  else
+    java "${SCRIPT_DIR}/LoadTest.java" "$1" ${CONNECTIONS} ${DURATION%s}
+  fi
+}
+
+if ! command -v wrk > /dev/null && ! command -v java > /dev/null; then
+  echo "> neither wrk nor java is installed"
+  exit 1
+fi
+
+# more connections than the default open file limit allows
+ulimit -n $((CONNECTIONS + 1024)) 2> /dev/null
+
+POST_ID=$(curl -s "${BASE_URL}/api/posts?limit=1" | grep -Po '"id":\K[0-9]+' | head -1)
+
+for TARGET in "/api/posts" "/api/posts/${POST_ID}" "/api/posts/search?keyword=content"
+do
+  echo "> GET ${TARGET} with ${CONNECTIONS} connections for ${DURATION} ..."
+  load "${BASE_URL}${TARGET}"
+done
+
+if [ -n "${ACCESS_TOKEN}" ]; then
+  export ACCESS_TOKEN
+  echo "> POST /api/posts with ${CONNECTIONS} connections for ${DURATION} ..."
+  load -s "${SCRIPT_DIR}/load_test_write.lua" "${BASE_URL}/api/posts"
+fi
@@ -0,0 +1,16 @@
+-- load_test_write.lua
+-- wrk script for POST /api/posts, used by load_test.sh
+
+wrk.method = "POST"
+wrk.headers["Content-Type"] = "application/json"
+wrk.headers["Authorization"] = "Bearer " .. os.getenv("ACCESS_TOKEN")
+
+local counter = 0
+
+request = function()
+  counter = counter + 1
+  local body = string.format('{"title":"load test %d","content":"load test content %d"}', counter, counter)
+  return wrk.format(nil, nil, nil, body)
+end
+
+-- non-2xx responses (e.g. 503 when the post executor queue is full) are reported separately by wrk
@@ -0,0 +1,11 @@
+-- seed_post_id_seq.sql
+-- The application seeds post_id_seq on startup (PostIdSequenceSeeder) whenever it is behind the highest post id.
+-- This does the same by hand, e.g. to seed before the first deploy that switches post ids from AUTO_INCREMENT
+-- to the pooled post_id_seq.
+-- The margin of 1000000 leaves room for the ids an instance still on AUTO_INCREMENT inserts during a blue/green
+-- switch; keep it equal to my-app.post-id-seq-margin.
+
+CREATE TABLE IF NOT EXISTS post_id_seq (next_val BIGINT) ENGINE = InnoDB;
+DELETE FROM post_id_seq;
+INSERT INTO post_id_seq (next_val)
+SELECT GREATEST((SELECT COALESCE(MAX(id), 0) FROM post), (SELECT COALESCE(MAX(id), 0) FROM post_archive)) + 1000000;
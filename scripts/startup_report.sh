@@ -0,0 +1,43 @@
+# startup_report.sh
+# !/bin/bash
+
+# Compare startup time of the application jar with and without the fast-start profile and a CDS archive
+# usage: ./scripts/startup_report.sh <application.jar> [runs] [cds_dir]
+# extra spring arguments (datasource, token endpoints, ...) are read from STARTUP_ARGS
+
+APP_JAR=$1
+RUNS=${2:-3}
+CDS_DIR=$3
+PORT=${PORT:-18080}
+
+if [ -z "${APP_JAR}" ]; then
+  echo "> usage: $0 <application.jar> [runs] [cds_dir]"
+  exit 1
+fi
+
+# prints the "Started Application in X seconds" time of one start
+started_in() {
+  java "$@" --server.port=${PORT} --spring.profiles.active=${PROFILES} --my-app.post-archive-interval=0s ${STARTUP_ARGS} 2>&1 \
+    | grep -m1 -Po 'Started Application in \K[0-9.]+'
+}
+
+report() {
+  local NAME=$1
+  shift
+  local TIMES=""
+
+  for i in $(seq ${RUNS}); do
+    TIMES="${TIMES} $(started_in "$@")"
+  done
+
+  echo ${TIMES} | tr ' ' '\n' | sort -n \
+    | awk -v name="${NAME}" '{ t[NR] = $1 } END { printf "%-24s median %6.2fs  min %6.2fs  max %6.2fs  (%d runs)\n", name, t[int((NR + 1) / 2)], t[1], t[NR], NR }'
+}
+
+PROFILES=prod report "baseline" -Dexit-after-startup=true -jar ${APP_JAR}
+PROFILES=prod,fast-start report "fast-start" -Dexit-after-startup=true -jar ${APP_JAR}
+
+if [ ! -z "${CDS_DIR}" ]; then
+  PROFILES=prod,fast-start report "fast-start + AppCDS" -XX:SharedArchiveFile=${CDS_DIR}/app.jsa -Xshare:auto -Dexit-after-startup=true \
+    @${CDS_DIR}/classpath.args $(cat ${CDS_DIR}/main.class)
+fi
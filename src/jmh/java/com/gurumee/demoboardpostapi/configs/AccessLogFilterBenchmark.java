@@ -0,0 +1,56 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * What the access log adds to a request thread: with the "access" logger on, the event is built and
+ * published to the ring buffer; off, the filter only checks the level. Run with -t to add contention.
+ * When the file cannot keep up, the discard policy drops events instead of slowing the score down.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccessLogFilterBenchmark {
+    @Param({"true", "false"})
+    private boolean accessLog;
+
+    private AccessLogFilter filter;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        Configurator.setLevel("access", accessLog ? Level.INFO : Level.OFF);
+        filter = new AccessLogFilter();
+        request = new MockHttpServletRequest("GET", "/api/posts");
+        request.setQueryString("username=test_user&limit=20");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(HttpHeaders.USER_AGENT, "wrk/4.1.0");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("test_user", null, List.of()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
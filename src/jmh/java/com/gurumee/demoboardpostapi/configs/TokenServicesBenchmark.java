@@ -0,0 +1,136 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.RsaSigner;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.RemoteTokenServices;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// per-request authentication cost of each token validation mode against a local stub auth server
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenServicesBenchmark {
+    private static final String KEY_ID = "benchmark";
+
+    private HttpServer authServer;
+    private ExecutorService authServerExecutor;
+    private JwkSetVerifiers jwkSetVerifiers;
+
+    private String accessToken;
+    private ResourceServerTokenServices remoteTokenServices;
+    private ResourceServerTokenServices cachingTokenServices;
+    private ResourceServerTokenServices jwtTokenServices;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+
+        long exp = Instant.now().plus(Duration.ofHours(1)).getEpochSecond();
+        String claims = "{\"exp\": " + exp + ", \"user_name\": \"test_user\", \"client_id\": \"client\", " +
+                "\"scope\": [\"read\", \"write\"]}";
+        accessToken = JwtHelper.encode(claims, new RsaSigner((RSAPrivateKey) keyPair.getPrivate()), Map.of("kid", KEY_ID))
+                .getEncoded();
+
+        String checkTokenResponse = "{\"active\": true, " + claims.substring(1);
+        String jwkSet = "{\"keys\": [{\"kty\": \"RSA\", \"kid\": \"" + KEY_ID + "\", \"alg\": \"RS256\", " +
+                "\"n\": \"" + base64Url(publicKey.getModulus()) + "\", " +
+                "\"e\": \"" + base64Url(publicKey.getPublicExponent()) + "\"}]}";
+
+        authServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        authServer.createContext("/oauth/check_token", exchange -> respond(exchange, checkTokenResponse));
+        authServer.createContext("/.well-known/jwks.json", exchange -> respond(exchange, jwkSet));
+        authServerExecutor = Executors.newFixedThreadPool(4);
+        authServer.setExecutor(authServerExecutor);
+        authServer.start();
+        String baseUrl = "http://127.0.0.1:" + authServer.getAddress().getPort();
+
+        remoteTokenServices = remoteTokenServices(baseUrl);
+        cachingTokenServices = new CachingTokenServices(remoteTokenServices(baseUrl), 10_000, Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+        jwkSetVerifiers = new JwkSetVerifiers(baseUrl + "/.well-known/jwks.json", Duration.ofMinutes(10));
+        jwkSetVerifiers.start();
+        jwtTokenServices = new JwtTokenServices(jwkSetVerifiers);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jwkSetVerifiers.stop();
+        authServer.stop(0);
+        authServerExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public OAuth2Authentication remoteCheckToken() {
+        return remoteTokenServices.loadAuthentication(accessToken);
+    }
+
+    @Benchmark
+    public OAuth2Authentication cachedCheckToken() {
+        return cachingTokenServices.loadAuthentication(accessToken);
+    }
+
+    @Benchmark
+    public OAuth2Authentication localJwt() {
+        return jwtTokenServices.loadAuthentication(accessToken);
+    }
+
+    private RemoteTokenServices remoteTokenServices(String baseUrl) {
+        RemoteTokenServices tokenServices = new RemoteTokenServices();
+        tokenServices.setCheckTokenEndpointUrl(baseUrl + "/oauth/check_token");
+        tokenServices.setClientId("client");
+        tokenServices.setClientSecret("password");
+        tokenServices.setAccessTokenConverter(new ExpirationAwareAccessTokenConverter());
+        return tokenServices;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
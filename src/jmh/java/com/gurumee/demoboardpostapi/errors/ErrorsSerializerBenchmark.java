@@ -0,0 +1,43 @@
+package com.gurumee.demoboardpostapi.errors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.gurumee.demoboardpostapi.posts.CreatePostRequestDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.util.concurrent.TimeUnit;
+
+// the validation error body returned by POST and PUT on bad input
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorsSerializerBenchmark {
+    private ObjectMapper objectMapper;
+    private Errors errors;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .modules(new SimpleModule().addSerializer(Errors.class, new ErrorsSerializer()))
+                .build();
+
+        CreatePostRequestDto requestDto = CreatePostRequestDto.builder()
+                .title("")
+                .build();
+        errors = new BeanPropertyBindingResult(requestDto, "createPostRequestDto");
+        errors.rejectValue("title", "NotEmpty", "must not be empty");
+        errors.rejectValue("content", "NotNull", "must not be null");
+        errors.reject("InvalidPost", "post is invalid");
+    }
+
+    @Benchmark
+    public byte[] serializeErrors() throws Exception {
+        return objectMapper.writeValueAsBytes(errors);
+    }
+}
@@ -0,0 +1,85 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * CPU cost of compressing post content in storage and on the wire. The storedChars and gzipBytes
+ * counters give the size each operation produced; compare them with contentLength.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostContentCodecBenchmark {
+    private static final String[] WORDS = {
+            "게시판", "공지", "사항", "안녕하세요", "오늘", "업데이트", "the", "post", "content", "release",
+            "server", "database", "query", "index", "회원", "댓글", "확인", "부탁드립니다", "and", "with"
+    };
+
+    @Param({"512", "4096", "65536"})
+    private int contentLength;
+
+    private String content;
+    private String stored;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Sizes {
+        public long storedChars;
+        public long gzipBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            storedChars = 0;
+            gzipBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        // words drawn at random compress like prose, unlike one repeated sentence
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(contentLength + 16);
+
+        while (builder.length() < contentLength) {
+            builder.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(10) == 0 ? ".\n" : " ");
+        }
+
+        content = builder.substring(0, contentLength);
+        stored = PostContentCodec.encode(content, 0);
+    }
+
+    @Benchmark
+    public String encode(Sizes sizes) {
+        String encoded = PostContentCodec.encode(content, 0);
+        sizes.storedChars = encoded.length();
+        return encoded;
+    }
+
+    @Benchmark
+    public String decode() {
+        return PostContentCodec.decode(stored);
+    }
+
+    // what Tomcat's response compression spends on the same text
+    @Benchmark
+    public byte[] gzip(Sizes sizes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(contentLength);
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        sizes.gzipBytes = out.size();
+        return out.toByteArray();
+    }
+}
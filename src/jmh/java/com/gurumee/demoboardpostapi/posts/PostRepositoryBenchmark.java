@@ -0,0 +1,104 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.Application;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// repository queries against the embedded H2 database of the test profile, seeded with realistic volume
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostRepositoryBenchmark {
+    private static final int USERS = 100;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000"})
+    private int posts;
+
+    private ConfigurableApplicationContext context;
+    private PostRepository postRepository;
+    private PostSearchIndex postSearchIndex;
+
+    private Pageable pageable;
+    private PostCursor deepCursor;
+    private long minId;
+    private long maxId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .profiles("test")
+                .properties("server.port=0", "spring.jpa.show-sql=false")
+                .run();
+        postRepository = context.getBean(PostRepository.class);
+        postSearchIndex = context.getBean(PostSearchIndex.class);
+
+        List<Post> batch = new ArrayList<>();
+
+        for (int i = 0; i < posts; i++) {
+            batch.add(Post.builder()
+                    .title("게시판 글 " + i + " title")
+                    .content(("본문 " + i + " content of a realistic length. ").repeat(20))
+                    .ownerName("user_" + (i % USERS))
+                    .build());
+
+            if (batch.size() == 1000) {
+                postRepository.saveAll(batch);
+                batch.clear();
+            }
+        }
+
+        postRepository.saveAll(batch);
+        pageable = PageRequest.of(0, PAGE_SIZE + 1);
+
+        List<PostSummaryDto> deepPage = postRepository.findSummaries(PageRequest.of(posts / PAGE_SIZE - 2, PAGE_SIZE));
+        PostSummaryDto last = deepPage.get(deepPage.size() - 1);
+        deepCursor = new PostCursor(last.getCreated_at(), last.getId());
+        minId = postRepository.findSummaries(PageRequest.of(posts - 1, 1)).get(0).getId();
+        maxId = minId + posts - 1;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<PostSummaryDto> firstPage() {
+        return postRepository.findSummaries(pageable);
+    }
+
+    @Benchmark
+    public List<PostSummaryDto> deepPage() {
+        return postRepository.findSummariesBefore(deepCursor.getCreatedAt(), deepCursor.getId(), pageable);
+    }
+
+    @Benchmark
+    public List<PostSummaryDto> ownerPage() {
+        String username = "user_" + ThreadLocalRandom.current().nextInt(USERS);
+        return postRepository.findSummariesByOwnerName(username, pageable);
+    }
+
+    @Benchmark
+    public Optional<Post> findById() {
+        return postRepository.findById(ThreadLocalRandom.current().nextLong(minId, maxId + 1));
+    }
+
+    @Benchmark
+    public List<PostSearchHit> search() throws Exception {
+        return postSearchIndex.search("본문 " + ThreadLocalRandom.current().nextInt(posts), null, PAGE_SIZE + 1);
+    }
+}
@@ -0,0 +1,72 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// response mapping and Jackson serialization, including the @JsonFormat LocalDateTime path
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostSerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private Post post;
+    private PostResponseDto responseDto;
+    private PostPageResponseDto pageResponseDto;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.now();
+
+        post = Post.builder()
+                .id(1L)
+                .title("게시판 공지 - benchmark title")
+                .content("본문 content ".repeat(100))
+                .ownerName("test_user")
+                .build();
+        ReflectionTestUtils.setField(post, "createdAt", now);
+        ReflectionTestUtils.setField(post, "updatedAt", now);
+        responseDto = PostController.convertResponseDto(post);
+
+        List<PostSummaryDto> summaries = IntStream.rangeClosed(1, 20)
+                .mapToObj(i -> PostSummaryDto.builder()
+                        .id((long) i)
+                        .title("게시판 공지 " + i)
+                        .content("본문 content ".repeat(100).substring(0, PostSummaryDto.PREVIEW_LENGTH))
+                        .owner_name("test_user")
+                        .created_at(now.minusMinutes(i))
+                        .updated_at(now.minusMinutes(i))
+                        .build())
+                .collect(Collectors.toList());
+        pageResponseDto = PostPageResponseDto.builder()
+                .posts(summaries)
+                .next_cursor(new PostCursor(now.minusMinutes(20), 20L).encode())
+                .build();
+    }
+
+    @Benchmark
+    public PostResponseDto convertResponseDto() {
+        return PostController.convertResponseDto(post);
+    }
+
+    @Benchmark
+    public byte[] serializePost() throws Exception {
+        return objectMapper.writeValueAsBytes(responseDto);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(pageResponseDto);
+    }
+}
@@ -2,14 +2,25 @@ package com.gurumee.demoboardpostapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 
 @SpringBootApplication
 @EnableJpaAuditing
 public class Application {
+	private static final int STARTUP_STEPS = 4096;
 
 	public static void main(String[] args) {
-		SpringApplication.run(Application.class, args);
+		SpringApplication application = new SpringApplication(Application.class);
+		// step timings of the last start, served at /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		ConfigurableApplicationContext context = application.run(args);
+
+		// CDS training runs and startup measurements stop once the context is up
+		if (Boolean.getBoolean("exit-after-startup")) {
+			System.exit(SpringApplication.exit(context));
+		}
 	}
 
 }
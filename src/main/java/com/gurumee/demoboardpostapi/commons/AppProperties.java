@@ -4,6 +4,9 @@ import lombok.*;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+
 @Component
 @NoArgsConstructor @AllArgsConstructor
 @Getter @Setter @ToString @EqualsAndHashCode
@@ -20,4 +23,142 @@ public class AppProperties {
 
     @Value("${my-app.check-token-endpoint-url}")
     private String checkTokenEndpointUrl;
+
+    @Value("${my-app.search-index-path}")
+    private String searchIndexPath;
+
+    @Value("${my-app.search-index-rebuild-on-startup}")
+    private boolean searchIndexRebuildOnStartup;
+
+    @Value("${my-app.search-index-refresh-interval}")
+    private Duration searchIndexRefreshInterval;
+
+    @Value("${my-app.post-export-max-concurrent}")
+    private int postExportMaxConcurrent;
+
+    @Value("${my-app.post-cache-maximum-size}")
+    private long postCacheMaximumSize;
+
+    @Value("${my-app.post-cache-expire-after-write}")
+    private Duration postCacheExpireAfterWrite;
+
+    @Value("${my-app.token-cache-maximum-size}")
+    private long tokenCacheMaximumSize;
+
+    @Value("${my-app.token-cache-maximum-ttl}")
+    private Duration tokenCacheMaximumTtl;
+
+    @Value("${my-app.token-validation}")
+    private String tokenValidation;
+
+    @Value("${my-app.jwk-set-uri}")
+    private String jwkSetUri;
+
+    @Value("${my-app.jwk-set-refresh-interval}")
+    private Duration jwkSetRefreshInterval;
+
+    @Value("${my-app.post-bulk-maximum-size}")
+    private int postBulkMaximumSize;
+
+    @Value("${my-app.post-bulk-batch-size}")
+    private int postBulkBatchSize;
+
+    @Value("${my-app.post-id-seq-margin}")
+    private long postIdSeqMargin;
+
+    @Value("${my-app.post-executor-pool-size}")
+    private int postExecutorPoolSize;
+
+    @Value("${my-app.post-executor-queue-capacity}")
+    private int postExecutorQueueCapacity;
+
+    @Value("${my-app.read-replica-urls}")
+    private List<String> readReplicaUrls;
+
+    @Value("${my-app.read-replica-health-check-interval}")
+    private Duration readReplicaHealthCheckInterval;
+
+    @Value("${my-app.read-your-writes-window}")
+    private Duration readYourWritesWindow;
+
+    @Value("${my-app.post-feed-size}")
+    private int postFeedSize;
+
+    @Value("${my-app.post-feed-maximum-entries}")
+    private long postFeedMaximumEntries;
+
+    @Value("${my-app.post-feed-expire-after-write}")
+    private Duration postFeedExpireAfterWrite;
+
+    @Value("${my-app.post-archive-interval}")
+    private Duration postArchiveInterval;
+
+    @Value("${my-app.post-archive-batch-size}")
+    private int postArchiveBatchSize;
+
+    @Value("${my-app.post-archive-maximum-batches}")
+    private int postArchiveMaximumBatches;
+
+    @Value("${my-app.post-archive-deleted-after}")
+    private Duration postArchiveDeletedAfter;
+
+    @Value("${my-app.post-archive-cold-after}")
+    private Duration postArchiveColdAfter;
+
+    @Value("${my-app.post-content-compression-threshold}")
+    private int postContentCompressionThreshold;
+
+    @Value("${my-app.warm-up-iterations}")
+    private int warmUpIterations;
+
+    @Value("${my-app.warm-up-posts}")
+    private int warmUpPosts;
+
+    @Value("${my-app.warm-up-connections}")
+    private int warmUpConnections;
+
+    @Value("${my-app.warm-up-timeout}")
+    private Duration warmUpTimeout;
+
+    @Value("${my-app.db-pool-maximum-size}")
+    private int dbPoolMaximumSize;
+
+    @Value("${my-app.db-pool-minimum-idle}")
+    private int dbPoolMinimumIdle;
+
+    @Value("${my-app.db-pool-connection-timeout}")
+    private Duration dbPoolConnectionTimeout;
+
+    @Value("${my-app.db-pool-idle-timeout}")
+    private Duration dbPoolIdleTimeout;
+
+    @Value("${my-app.db-pool-max-lifetime}")
+    private Duration dbPoolMaxLifetime;
+
+    @Value("${my-app.admission-read-max-waiting}")
+    private int admissionReadMaxWaiting;
+
+    @Value("${my-app.admission-write-max-waiting}")
+    private int admissionWriteMaxWaiting;
+
+    @Value("${my-app.admission-retry-after}")
+    private Duration admissionRetryAfter;
+
+    @Value("${my-app.rate-limit-store}")
+    private String rateLimitStore;
+
+    @Value("${my-app.rate-limit-period}")
+    private Duration rateLimitPeriod;
+
+    @Value("${my-app.rate-limit-read-capacity}")
+    private long rateLimitReadCapacity;
+
+    @Value("${my-app.rate-limit-write-capacity}")
+    private long rateLimitWriteCapacity;
+
+    @Value("${my-app.rate-limit-endpoints}")
+    private List<String> rateLimitEndpoints;
+
+    @Value("${my-app.rate-limit-maximum-keys}")
+    private long rateLimitMaximumKeys;
 }
@@ -0,0 +1,119 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ObjectMessage;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Replaces Tomcat's synchronous access log valve. Each request becomes one structured event on the
+ * asynchronous "access" logger, so the request thread only fills a ring-buffer slot. Runs ahead of the
+ * admission and security filters, so requests they reject are logged too; the user is left on the request
+ * by userRecorder inside the security chain. Async handlers are logged when the async request completes.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 2)
+public class AccessLogFilter extends OncePerRequestFilter {
+    private static final Logger ACCESS_LOG = LogManager.getLogger("access");
+    private static final String USER_ATTRIBUTE = AccessLogFilter.class.getName() + ".user";
+
+    // the security context is already cleared when the chain returns here
+    public static Filter userRecorder() {
+        return (request, response, chain) -> {
+            String user = currentUser();
+
+            if (user != null) {
+                request.setAttribute(USER_ATTRIBUTE, user);
+            }
+
+            chain.doFilter(request, response);
+        };
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!ACCESS_LOG.isInfoEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            String user = (String) request.getAttribute(USER_ATTRIBUTE);
+
+            if (isAsyncStarted(request)) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, response, user, start);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                log(request, response, user, start);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, String user, long start) {
+        ACCESS_LOG.info(new ObjectMessage(accessEvent(request, response, user, System.nanoTime() - start)));
+    }
+
+    static Map<String, Object> accessEvent(HttpServletRequest request, HttpServletResponse response,
+                                           String user, long elapsedNanos) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("method", request.getMethod());
+        event.put("uri", request.getRequestURI());
+        event.put("query", request.getQueryString());
+        event.put("status", response.getStatus());
+        event.put("latency_ms", TimeUnit.NANOSECONDS.toMicros(elapsedNanos) / 1000.0);
+        event.put("user", user);
+        event.put("remote_ip", request.getRemoteAddr());
+        event.put("user_agent", request.getHeader(HttpHeaders.USER_AGENT));
+        return event;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,79 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/*
+ * Remembers the introspection result of each access token until its expiration, capped by maximumTtl.
+ * Concurrent lookups of the same token wait for a single delegate call, and rejected tokens are never cached.
+ */
+public class CachingTokenServices implements ResourceServerTokenServices {
+    private static final String CACHE_NAME = "access_tokens";
+
+    private final ResourceServerTokenServices delegate;
+    private final Cache<String, OAuth2Authentication> cache;
+
+    public CachingTokenServices(ResourceServerTokenServices delegate, long maximumSize, Duration maximumTtl,
+                                MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maximumTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // the security filter mutates the returned authentication, so each request gets its own copy
+    @Override
+    @Timed(value = "auth.token.load", extraTags = {"mode", "remote"}, histogram = true)
+    public OAuth2Authentication loadAuthentication(String accessToken) throws AuthenticationException, InvalidTokenException {
+        OAuth2Authentication cached = cache.get(accessToken, delegate::loadAuthentication);
+        return new OAuth2Authentication(cached.getOAuth2Request(), cached.getUserAuthentication());
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String accessToken) {
+        return delegate.readAccessToken(accessToken);
+    }
+
+    private static class TokenExpiry implements Expiry<String, OAuth2Authentication> {
+        private final long maximumTtlNanos;
+
+        private TokenExpiry(Duration maximumTtl) {
+            this.maximumTtlNanos = maximumTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String token, OAuth2Authentication authentication, long currentTime) {
+            if (!(authentication.getDetails() instanceof Instant)) {
+                return maximumTtlNanos;
+            }
+
+            Duration untilExpiration = Duration.between(Instant.now(), (Instant) authentication.getDetails());
+            return Math.max(0, Math.min(untilExpiration.toNanos(), maximumTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, OAuth2Authentication authentication, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String token, OAuth2Authentication authentication, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// applies the my-app.db-pool-* settings to every Hikari pool; a short connection timeout fails fast instead of queueing
+@Configuration
+public class DataSourcePoolConfig {
+    @Bean
+    public static BeanPostProcessor hikariPoolPostProcessor(ObjectProvider<AppProperties> appProperties) {
+        return new BeanPostProcessor() {
+            // after initialization, so these win over spring.datasource.hikari; the pool itself starts on the first connection
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource) {
+                    configure((HikariDataSource) bean, appProperties.getObject());
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    public static void configure(HikariDataSource dataSource, AppProperties appProperties) {
+        dataSource.setMaximumPoolSize(appProperties.getDbPoolMaximumSize());
+        dataSource.setMinimumIdle(appProperties.getDbPoolMinimumIdle());
+        dataSource.setConnectionTimeout(appProperties.getDbPoolConnectionTimeout().toMillis());
+        dataSource.setIdleTimeout(appProperties.getDbPoolIdleTimeout().toMillis());
+        dataSource.setMaxLifetime(appProperties.getDbPoolMaxLifetime().toMillis());
+    }
+}
@@ -0,0 +1,22 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+
+import java.time.Instant;
+import java.util.Map;
+
+// keeps the "exp" claim of a check_token response as the authentication details so that callers can cache until then
+public class ExpirationAwareAccessTokenConverter extends DefaultAccessTokenConverter {
+    @Override
+    public OAuth2Authentication extractAuthentication(Map<String, ?> map) {
+        OAuth2Authentication authentication = super.extractAuthentication(map);
+        Object exp = map.get(EXP);
+
+        if (exp instanceof Number) {
+            authentication.setDetails(Instant.ofEpochSecond(((Number) exp).longValue()));
+        }
+
+        return authentication;
+    }
+}
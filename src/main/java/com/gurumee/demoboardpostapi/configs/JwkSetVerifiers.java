@@ -0,0 +1,112 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.jwt.crypto.sign.RsaVerifier;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.web.client.RestOperations;
+import org.springframework.web.client.RestTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// RSA signature verifiers by key id, loaded from a JWK set once and then refreshed on a background thread
+@Slf4j
+public class JwkSetVerifiers {
+    private static final Map<String, String> ALGORITHMS = Map.of(
+            "RS256", "SHA256withRSA",
+            "RS384", "SHA384withRSA",
+            "RS512", "SHA512withRSA"
+    );
+
+    private final String jwkSetUri;
+    private final Duration refreshInterval;
+    private final RestOperations restOperations;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Map<String, SignatureVerifier> verifiers = Collections.emptyMap();
+
+    public JwkSetVerifiers(String jwkSetUri, Duration refreshInterval) {
+        this(jwkSetUri, refreshInterval, new RestTemplate());
+    }
+
+    public JwkSetVerifiers(String jwkSetUri, Duration refreshInterval, RestOperations restOperations) {
+        this.jwkSetUri = jwkSetUri;
+        this.refreshInterval = refreshInterval;
+        this.restOperations = restOperations;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "jwk-set-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        refresh();
+        long interval = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    // a single published key is also used for tokens that carry no kid header
+    public Optional<SignatureVerifier> get(String keyId) {
+        Map<String, SignatureVerifier> current = verifiers;
+
+        if (keyId == null && current.size() == 1) {
+            return current.values().stream().findFirst();
+        }
+
+        return Optional.ofNullable(current.get(keyId));
+    }
+
+    // a failed refresh keeps the previous keys so that a flaky auth server does not reject valid tokens
+    public void refresh() {
+        try {
+            Map<?, ?> jwkSet = restOperations.getForObject(jwkSetUri, Map.class);
+            Object keys = jwkSet == null ? null : jwkSet.get("keys");
+
+            if (!(keys instanceof List)) {
+                log.warn("JWK set at {} has no keys.", jwkSetUri);
+                return;
+            }
+
+            Map<String, SignatureVerifier> loaded = new HashMap<>();
+
+            for (Object key : (List<?>) keys) {
+                Map<?, ?> jwk = (Map<?, ?>) key;
+
+                if (!"RSA".equals(jwk.get("kty")) || "enc".equals(jwk.get("use"))) {
+                    continue;
+                }
+
+                String algorithm = ALGORITHMS.getOrDefault(String.valueOf(jwk.get("alg")), "SHA256withRSA");
+                loaded.put(String.valueOf(jwk.get("kid")), new RsaVerifier(toPublicKey(jwk), algorithm));
+            }
+
+            verifiers = Collections.unmodifiableMap(loaded);
+        } catch (RuntimeException | GeneralSecurityException e) {
+            log.warn("Failed to refresh JWK set from {}: {}", jwkSetUri, e.getMessage());
+        }
+    }
+
+    private RSAPublicKey toPublicKey(Map<?, ?> jwk) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        BigInteger modulus = new BigInteger(1, decoder.decode(String.valueOf(jwk.get("n"))));
+        BigInteger exponent = new BigInteger(1, decoder.decode(String.valueOf(jwk.get("e"))));
+        return (RSAPublicKey) KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+    }
+}
@@ -0,0 +1,69 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.jwt.Jwt;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.AccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+
+// verifies signed JWT access tokens locally, so no request has to reach the auth server
+public class JwtTokenServices implements ResourceServerTokenServices {
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE = new TypeReference<>() {};
+
+    private final JwkSetVerifiers verifiers;
+    private final AccessTokenConverter accessTokenConverter = new DefaultAccessTokenConverter();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public JwtTokenServices(JwkSetVerifiers verifiers) {
+        this.verifiers = verifiers;
+    }
+
+    @Override
+    @Timed(value = "auth.token.load", extraTags = {"mode", "jwt"}, histogram = true)
+    public OAuth2Authentication loadAuthentication(String accessToken) throws AuthenticationException, InvalidTokenException {
+        Map<String, Object> claims = decode(accessToken);
+        Object exp = claims.get(AccessTokenConverter.EXP);
+
+        // a token without exp would never expire, so it is refused like an expired one
+        if (!(exp instanceof Number)) {
+            throw new InvalidTokenException("Access token has no expiration: " + accessToken);
+        }
+
+        if (Instant.ofEpochSecond(((Number) exp).longValue()).isBefore(Instant.now())) {
+            throw new InvalidTokenException("Access token expired: " + accessToken);
+        }
+
+        return accessTokenConverter.extractAuthentication(claims);
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String accessToken) {
+        return accessTokenConverter.extractAccessToken(accessToken, decode(accessToken));
+    }
+
+    private Map<String, Object> decode(String accessToken) {
+        try {
+            String keyId = JwtHelper.headers(accessToken).get("kid");
+            SignatureVerifier verifier = verifiers.get(keyId)
+                    .orElseThrow(() -> new InvalidTokenException("Invalid access token: " + accessToken));
+            Jwt jwt = JwtHelper.decodeAndVerify(accessToken, verifier);
+            return objectMapper.readValue(jwt.getClaims(), CLAIMS_TYPE);
+        } catch (InvalidTokenException e) {
+            throw e;
+        } catch (RuntimeException | IOException e) {
+            throw new InvalidTokenException("Invalid access token: " + accessToken);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+
+// a bucket left alone for a whole period is full again, the same as a new one, so it can expire then
+public class LocalRateLimitStore implements RateLimitStore {
+    private static final String CACHE_NAME = "rate_limit_buckets";
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public LocalRateLimitStore(long maximumKeys, Duration idleExpiry, MeterRegistry meterRegistry) {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, CACHE_NAME);
+    }
+
+    @Override
+    public RateLimitResult tryConsume(String key, RateLimitRule rule) {
+        long now = System.nanoTime();
+        return buckets.get(key, k -> new TokenBucket(now))
+                .tryConsume(rule.getCapacity(), rule.getPeriod().toNanos(), now);
+    }
+}
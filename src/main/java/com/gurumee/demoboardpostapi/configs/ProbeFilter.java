@@ -0,0 +1,61 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/*
+ * Liveness and readiness probes for the deploy scripts. Answered ahead of the security, metrics and
+ * access log filters from Boot's availability state with preallocated bodies, so a probe costs neither
+ * a token check nor a health aggregation. Readiness turns on once every ApplicationRunner, including
+ * the warm-up, has finished.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ProbeFilter extends OncePerRequestFilter {
+    static final String LIVENESS_PATH = "/health/liveness";
+    static final String READINESS_PATH = "/health/readiness";
+
+    private static final byte[] UP = "UP".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DOWN = "DOWN".getBytes(StandardCharsets.US_ASCII);
+
+    private final ApplicationAvailability applicationAvailability;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI();
+
+        if (LIVENESS_PATH.equals(path)) {
+            write(response, applicationAvailability.getLivenessState() == LivenessState.CORRECT);
+        } else if (READINESS_PATH.equals(path)) {
+            write(response, applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC);
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private static void write(HttpServletResponse response, boolean up) throws IOException {
+        byte[] body = up ? UP : DOWN;
+        response.setStatus(up ? HttpStatus.OK.value() : HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setHeader("Cache-Control", "no-store");
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,17 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfig {
+    @Bean
+    @ConditionalOnProperty(prefix = "my-app", name = "rate-limit-store", havingValue = "local", matchIfMissing = true)
+    public RateLimitStore localRateLimitStore(AppProperties appProperties, MeterRegistry meterRegistry) {
+        return new LocalRateLimitStore(appProperties.getRateLimitMaximumKeys(), appProperties.getRateLimitPeriod(),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,119 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import com.gurumee.demoboardpostapi.errors.ErrorResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/*
+ * Per-client rate limits for the API, keyed by the authenticated user or, for anonymous reads, by the
+ * client address. Runs after the security filters, so the principal is known. A rule from
+ * my-app.rate-limit-endpoints replaces the read or write scope limit of ResourceServerConfig for its
+ * endpoint. Limits start once the instance is ready, so the loopback warm-up does not spend them.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+    static final String RATE_LIMIT_LIMIT = "RateLimit-Limit";
+    static final String RATE_LIMIT_REMAINING = "RateLimit-Remaining";
+    static final String RATE_LIMIT_RESET = "RateLimit-Reset";
+    private static final String METRIC_NAME = "rate.limit.rejected";
+
+    private final RateLimitStore rateLimitStore;
+    private final ApplicationAvailability applicationAvailability;
+    private final MeterRegistry meterRegistry;
+    private final RateLimitRule readRule;
+    private final RateLimitRule writeRule;
+    private final List<RateLimitRule> endpointRules;
+    private final byte[] tooManyRequestsBody;
+
+    public RateLimitInterceptor(AppProperties appProperties, RateLimitStore rateLimitStore,
+                                ApplicationAvailability applicationAvailability,
+                                ObjectMapper objectMapper, MeterRegistry meterRegistry) throws JsonProcessingException {
+        Duration period = appProperties.getRateLimitPeriod();
+        this.rateLimitStore = rateLimitStore;
+        this.applicationAvailability = applicationAvailability;
+        this.meterRegistry = meterRegistry;
+        this.readRule = new RateLimitRule("read", null, "/**", appProperties.getRateLimitReadCapacity(), period);
+        this.writeRule = new RateLimitRule("write", null, "/**", appProperties.getRateLimitWriteCapacity(), period);
+        this.endpointRules = appProperties.getRateLimitEndpoints().stream()
+                .filter(entry -> !entry.isBlank())
+                .map(entry -> RateLimitRule.parse(entry, period))
+                .collect(Collectors.toList());
+        this.tooManyRequestsBody = objectMapper.writeValueAsBytes(ErrorResponseDto.builder()
+                .message("Too many requests.")
+                .build());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // an async handler's result comes back on a second dispatch, which was already counted
+        if (request.getDispatcherType() != DispatcherType.REQUEST
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return true;
+        }
+
+        RateLimitRule rule = ruleFor(request.getMethod(), request.getRequestURI());
+        RateLimitResult result = rateLimitStore.tryConsume(rule.getName() + ":" + client(request), rule);
+        response.setHeader(RATE_LIMIT_LIMIT, String.valueOf(rule.getCapacity()));
+        response.setHeader(RATE_LIMIT_REMAINING, String.valueOf(result.getRemaining()));
+        response.setHeader(RATE_LIMIT_RESET, String.valueOf(seconds(result.getResetNanos())));
+
+        if (result.isAllowed()) {
+            return true;
+        }
+
+        meterRegistry.counter(METRIC_NAME, "rule", rule.getName()).increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, seconds(result.getRetryAfterNanos()))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(tooManyRequestsBody.length);
+        response.getOutputStream().write(tooManyRequestsBody);
+        return false;
+    }
+
+    private RateLimitRule ruleFor(String method, String path) {
+        for (RateLimitRule rule : endpointRules) {
+            if (rule.matches(method, path)) {
+                return rule;
+            }
+        }
+
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) ? readRule : writeRule;
+    }
+
+    private static String client(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "ip:" + request.getRemoteAddr();
+        }
+
+        return "user:" + authentication.getName();
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,14 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import lombok.*;
+
+@AllArgsConstructor
+@Getter @ToString @EqualsAndHashCode
+public class RateLimitResult {
+    private final boolean allowed;
+    private final long remaining;
+    // until the bucket is full again
+    private final long resetNanos;
+    // until the next token, zero when allowed
+    private final long retryAfterNanos;
+}
@@ -0,0 +1,42 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import lombok.*;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+
+@AllArgsConstructor
+@Getter @ToString @EqualsAndHashCode
+public class RateLimitRule {
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    // part of the bucket key, so every rule counts separately
+    private final String name;
+    private final String method;
+    private final String pattern;
+    private final long capacity;
+    private final Duration period;
+
+    // "POST /api/posts=30": at most 30 requests per period
+    public static RateLimitRule parse(String entry, Duration period) {
+        int equals = entry.lastIndexOf('=');
+        String[] endpoint = entry.substring(0, Math.max(equals, 0)).trim().split("\\s+");
+
+        if (equals < 0 || endpoint.length != 2) {
+            throw new IllegalArgumentException("Rate limit rule: " + entry + " is not 'METHOD /path=capacity'.");
+        }
+
+        long capacity = Long.parseLong(entry.substring(equals + 1).trim());
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Rate limit rule: " + entry + " needs a positive capacity.");
+        }
+
+        String method = endpoint[0].toUpperCase();
+        return new RateLimitRule(method + " " + endpoint[1], method, endpoint[1], capacity, period);
+    }
+
+    public boolean matches(String method, String path) {
+        return this.method.equals(method) && PATH_MATCHER.match(pattern, path);
+    }
+}
@@ -0,0 +1,9 @@
+package com.gurumee.demoboardpostapi.configs;
+
+/*
+ * Token buckets keyed by client and rule. The local store limits each instance on its own. Another store,
+ * e.g. one backed by a shared Redis, is declared under its own my-app.rate-limit-store value.
+ */
+public interface RateLimitStore {
+    RateLimitResult tryConsume(String key, RateLimitRule rule);
+}
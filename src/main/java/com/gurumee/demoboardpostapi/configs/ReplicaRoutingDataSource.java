@@ -0,0 +1,178 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/*
+ * Sends read-only transactions to the healthy replicas in turn and everything else to the primary.
+ * A user who wrote through the primary keeps reading from it for readYourWritesWindow, so replication lag
+ * never hides their own write. Must be wrapped in a LazyConnectionDataSourceProxy, because the read-only flag
+ * of a transaction is only known after the transaction manager asked for a connection.
+ * Reads whose result outlives the request, like cache fills, run through onPrimary instead.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration healthCheckInterval;
+    private final Cache<String, Boolean> recentWriters;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    Duration healthCheckInterval, Duration readYourWritesWindow) {
+        this.primary = primary;
+        this.replicas = replicas.stream()
+                .map(Replica::new)
+                .collect(Collectors.toList());
+        this.healthCheckInterval = healthCheckInterval;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // runs the reads of the given work on the primary without making the current user a recent writer
+    public static <T> T onPrimary(Supplier<T> work) {
+        Boolean outer = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+
+        try {
+            return work.get();
+        } finally {
+            if (outer == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    // the replica pools are not beans, so admission control finds them here
+    public List<DataSource> getReplicas() {
+        return replicas.stream()
+                .map(replica -> replica.dataSource)
+                .collect(Collectors.toList());
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = healthCheckInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable) {
+                try {
+                    ((Closeable) replica.dataSource).close();
+                } catch (IOException e) {
+                    log.warn("failed to close replica data source", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        String writer = currentUsername();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (writer != null) {
+                recentWriters.put(writer, Boolean.TRUE);
+            }
+
+            return connect(primary, username, password);
+        }
+
+        if (PRIMARY_ONLY.get() != null || (writer != null && recentWriters.getIfPresent(writer) != null)) {
+            return connect(primary, username, password);
+        }
+
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+
+            if (!replica.healthy) {
+                continue;
+            }
+
+            try {
+                return connect(replica.dataSource, username, password);
+            } catch (SQLException e) {
+                log.warn("replica is unavailable, trying the next one", e);
+                replica.healthy = false;
+            }
+        }
+
+        return connect(primary, username, password);
+    }
+
+    // a replica marked down is only taken back once it answers a validation query again
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    private Connection connect(DataSource dataSource, String username, String password) throws SQLException {
+        return username == null ? dataSource.getConnection() : dataSource.getConnection(username, password);
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+
+        return authentication.getName();
+    }
+
+    private static class Replica {
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+/*
+ * Times every Spring Data repository call by repository and method name.
+ * Methods returning a Stream are timed until the stream is opened, not until it is consumed.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+    private static final String METRIC_NAME = "spring.data.repository.invocations";
+
+    private final MeterRegistry meterRegistry;
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object time(ProceedingJoinPoint pjp) throws Throwable {
+        Class<?> repository = AopProxyUtils.proxiedUserInterfaces(pjp.getThis())[0];
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String state = "SUCCESS";
+        String exception = "none";
+
+        try {
+            return pjp.proceed();
+        } catch (Throwable e) {
+            state = "ERROR";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .tag("repository", repository.getSimpleName())
+                    .tag("method", pjp.getSignature().getName())
+                    .tag("state", state)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
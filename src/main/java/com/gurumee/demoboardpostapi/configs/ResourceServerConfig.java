@@ -1,7 +1,9 @@
 package com.gurumee.demoboardpostapi.configs;
 
 import com.gurumee.demoboardpostapi.commons.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -11,6 +13,8 @@ import org.springframework.security.oauth2.config.annotation.web.configuration.E
 import org.springframework.security.oauth2.config.annotation.web.configuration.ResourceServerConfigurerAdapter;
 import org.springframework.security.oauth2.provider.error.OAuth2AccessDeniedHandler;
 import org.springframework.security.oauth2.provider.token.RemoteTokenServices;
+import org.springframework.security.oauth2.provider.token.ResourceServerTokenServices;
+import org.springframework.security.web.access.ExceptionTranslationFilter;
 
 @Configuration
 @EnableResourceServer
@@ -20,12 +24,29 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
 
     @Bean
     @Profile("!test")
-    public RemoteTokenServices tokenService() {
+    @ConditionalOnProperty(prefix = "my-app", name = "token-validation", havingValue = "remote", matchIfMissing = true)
+    public ResourceServerTokenServices tokenService(MeterRegistry meterRegistry) {
         RemoteTokenServices tokenService = new RemoteTokenServices();
         tokenService.setCheckTokenEndpointUrl(appProperties.getCheckTokenEndpointUrl());
         tokenService.setClientId(appProperties.getClientId());
         tokenService.setClientSecret(appProperties.getClientSecret());
-        return tokenService;
+        tokenService.setAccessTokenConverter(new ExpirationAwareAccessTokenConverter());
+        return new CachingTokenServices(tokenService, appProperties.getTokenCacheMaximumSize(),
+                appProperties.getTokenCacheMaximumTtl(), meterRegistry);
+    }
+
+    @Bean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "my-app", name = "token-validation", havingValue = "jwt")
+    public JwkSetVerifiers jwkSetVerifiers() {
+        return new JwkSetVerifiers(appProperties.getJwkSetUri(), appProperties.getJwkSetRefreshInterval());
+    }
+
+    @Bean
+    @Profile("!test")
+    @ConditionalOnProperty(prefix = "my-app", name = "token-validation", havingValue = "jwt")
+    public ResourceServerTokenServices jwtTokenService(JwkSetVerifiers jwkSetVerifiers) {
+        return new JwtTokenServices(jwkSetVerifiers);
     }
 
     @Override
@@ -35,6 +56,11 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
                     .and()
                 .authorizeRequests()
                     .antMatchers(HttpMethod.OPTIONS).permitAll()
+                    // metrics break traffic down by endpoint and user; scrapers authenticate like any admin client
+                    .antMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                    .antMatchers("/actuator/**").access("#oauth2.hasScope('admin')")
+                    // a dump of the whole table holds a connection and a server-side cursor until it ends
+                    .mvcMatchers(HttpMethod.GET, "/api/posts/export").access("#oauth2.hasScope('admin')")
                     .antMatchers(HttpMethod.GET).permitAll()
                     .mvcMatchers(HttpMethod.GET, "/api/**").permitAll()
                     .mvcMatchers(HttpMethod.POST, "/api/**").access("#oauth2.hasScope('write')")
@@ -43,6 +69,9 @@ public class ResourceServerConfig extends ResourceServerConfigurerAdapter {
                 .anyRequest().authenticated()
                     .and()
                 .exceptionHandling().accessDeniedHandler(new OAuth2AccessDeniedHandler())
+                    .and()
+                // after authentication and before authorization, so users that are denied are still logged
+                .addFilterBefore(AccessLogFilter.userRecorder(), ExceptionTranslationFilter.class)
         ;
     }
 }
@@ -3,6 +3,7 @@ package com.gurumee.demoboardpostapi.configs;
 import com.gurumee.demoboardpostapi.commons.AppProperties;
 import io.swagger.annotations.ApiOperation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import springfox.documentation.builders.ApiInfoBuilder;
@@ -16,8 +17,10 @@ import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
 import java.util.*;
 
+// the Docket scans every handler method at startup, so production leaves it out
 @Configuration
 @EnableSwagger2
+@ConditionalOnProperty(prefix = "my-app", name = "swagger-enabled", havingValue = "true", matchIfMissing = true)
 @RequiredArgsConstructor
 public class SwaggerConfig {
     private final AppProperties appProperties;
@@ -66,17 +69,19 @@ public class SwaggerConfig {
     private List<SecurityReference> defaultAuth() {
         final AuthorizationScope[] authorizationScopes = new AuthorizationScope[] {
                 new AuthorizationScope("read", "read all"),
-                new AuthorizationScope("write", "write all")
+                new AuthorizationScope("write", "write all"),
+                new AuthorizationScope("admin", "export all")
         };
 
         return Collections.singletonList(new SecurityReference("oauth2", authorizationScopes));
     }
 
     private OAuth securitySchema() {
-        final List<AuthorizationScope> authorizationScopeList = new ArrayList<>(2);
+        final List<AuthorizationScope> authorizationScopeList = new ArrayList<>(3);
 
         authorizationScopeList.add(new AuthorizationScope("read", "read all"));
         authorizationScopeList.add(new AuthorizationScope("write", "access all"));
+        authorizationScopeList.add(new AuthorizationScope("admin", "export all"));
 
         GrantType grantType = new ResourceOwnerPasswordCredentialsGrant(appProperties.getGetTokenEndpointUrl());
 
@@ -0,0 +1,33 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * A token bucket kept as the instant it will be full again. Every token taken pushes that instant one
+ * refill interval further, and the bucket is empty once it lies a whole period ahead, so taking a token
+ * is a single compare-and-set on one long.
+ */
+class TokenBucket {
+    private final AtomicLong fullAt;
+
+    TokenBucket(long now) {
+        fullAt = new AtomicLong(now);
+    }
+
+    RateLimitResult tryConsume(long capacity, long periodNanos, long now) {
+        long interval = periodNanos / capacity;
+
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + interval;
+
+            if (next - now > periodNanos) {
+                return new RateLimitResult(false, 0, current - now, next - now - periodNanos);
+            }
+
+            if (fullAt.compareAndSet(current, next)) {
+                return new RateLimitResult(true, (periodNanos - (next - now)) / interval, next - now, 0);
+            }
+        }
+    }
+}
@@ -1,15 +1,32 @@
 package com.gurumee.demoboardpostapi.configs;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
+    private final RateLimitInterceptor rateLimitInterceptor;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry
                 .addMapping("/**")
-                .allowedMethods("*");
+                .allowedMethods("*")
+                // browsers hide every other response header from scripts; If-Match needs the ETag
+                .exposedHeaders(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.RETRY_AFTER,
+                        RateLimitInterceptor.RATE_LIMIT_LIMIT, RateLimitInterceptor.RATE_LIMIT_REMAINING,
+                        RateLimitInterceptor.RATE_LIMIT_RESET);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry
+                .addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/**");
     }
 }
@@ -0,0 +1,16 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import lombok.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@NoArgsConstructor @AllArgsConstructor
+@Getter @Setter @ToString @EqualsAndHashCode
+@Builder
+public class BulkCreatePostRequestDto {
+    @NotNull @NotEmpty
+    private List<@Valid @NotNull CreatePostRequestDto> posts;
+}
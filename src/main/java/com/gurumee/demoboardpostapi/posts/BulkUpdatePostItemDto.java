@@ -0,0 +1,20 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import lombok.*;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+@NoArgsConstructor @AllArgsConstructor
+@Getter @Setter @ToString @EqualsAndHashCode
+@Builder
+public class BulkUpdatePostItemDto {
+    @NotNull
+    private Long id;
+
+    @NotNull @NotEmpty
+    private String title;
+
+    @NotNull @NotEmpty
+    private String content;
+}
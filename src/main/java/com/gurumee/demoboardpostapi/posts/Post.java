@@ -2,24 +2,69 @@ package com.gurumee.demoboardpostapi.posts;
 
 import com.gurumee.demoboardpostapi.commons.BaseTimeEntity;
 import lombok.*;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(PostEntityListener.class)
+@Table(indexes = {
+        @Index(name = "idx_post_created_at_id", columnList = "createdAt, id"),
+        @Index(name = "idx_post_owner_name_created_at_id", columnList = "ownerName, createdAt desc, id desc"),
+        @Index(name = "idx_post_deleted_at", columnList = "deletedAt"),
+        @Index(name = "idx_post_updated_at", columnList = "updatedAt")
+})
+// deleted posts stay in the table until PostArchiver moves them to post_archive; every query skips them
+@Where(clause = "deleted_at is null")
+@SQLDelete(sql = "update post set deleted_at = current_timestamp, version = version + 1 where id = ? and version = ?")
 @NoArgsConstructor @AllArgsConstructor
 @Getter @Setter @ToString @EqualsAndHashCode(of = "id")
 @Builder
 public class Post extends BaseTimeEntity implements Serializable {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // a pooled sequence (a table on MySQL) hands out ids in blocks, which lets Hibernate batch inserts
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_id_generator")
+    @SequenceGenerator(name = "post_id_generator", sequenceName = "post_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
+    // loaded on first access (bytecode enhancement); queries that need it say "fetch all properties"
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT")
+    @Convert(converter = PostContentConverter.class)
+    @ToString.Exclude
     private String content;
 
+    // list views read this instead of a substring of content, which may be stored compressed
+    @Column(length = PostSummaryDto.PREVIEW_LENGTH)
+    private String preview;
+
     @Column(nullable = false)
     private String ownerName;
+
+    // rows that predate the column start at 0
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    private LocalDateTime deletedAt;
+
+    public static String previewOf(String content) {
+        if (content == null || content.length() <= PostSummaryDto.PREVIEW_LENGTH) {
+            return content;
+        }
+
+        return content.substring(0, PostSummaryDto.PREVIEW_LENGTH);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updatePreview() {
+        preview = previewOf(content);
+    }
 }
@@ -0,0 +1,122 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import com.gurumee.demoboardpostapi.configs.ReplicaRoutingDataSource;
+import com.gurumee.demoboardpostapi.errors.ErrorResponseDto;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+ * Admission control for the post API. Requests wait for a connection in the post executor queue and,
+ * past that, in the Hikari pools. Once that backlog reaches the read or write budget, new requests are
+ * turned away with 503 and Retry-After before the token check, instead of queueing behind a slow database.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+public class PostAdmissionFilter extends OncePerRequestFilter {
+    private static final String API_PATH = "/api/posts";
+    private static final String METRIC_NAME = "post.admission";
+
+    private final PostExecutor postExecutor;
+    private final ObjectProvider<HikariDataSource> hikariDataSources;
+    private final List<HikariDataSource> replicaDataSources;
+    private final int readMaxWaiting;
+    private final int writeMaxWaiting;
+    private final String retryAfter;
+    private final byte[] busyBody;
+    private final Counter readRejected;
+    private final Counter writeRejected;
+
+    public PostAdmissionFilter(AppProperties appProperties, PostExecutor postExecutor,
+                               ObjectProvider<HikariDataSource> hikariDataSources,
+                               ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource,
+                               ObjectMapper objectMapper, MeterRegistry meterRegistry) throws JsonProcessingException {
+        this.postExecutor = postExecutor;
+        this.hikariDataSources = hikariDataSources;
+        this.replicaDataSources = replicaRoutingDataSource.stream()
+                .flatMap(dataSource -> dataSource.getReplicas().stream())
+                .filter(HikariDataSource.class::isInstance)
+                .map(HikariDataSource.class::cast)
+                .collect(Collectors.toList());
+        this.readMaxWaiting = appProperties.getAdmissionReadMaxWaiting();
+        this.writeMaxWaiting = appProperties.getAdmissionWriteMaxWaiting();
+        this.retryAfter = String.valueOf(Math.max(1, appProperties.getAdmissionRetryAfter().toSeconds()));
+        this.busyBody = objectMapper.writeValueAsBytes(ErrorResponseDto.builder()
+                .message("Server is busy.")
+                .build());
+        this.readRejected = meterRegistry.counter(METRIC_NAME + ".rejected", "type", "read");
+        this.writeRejected = meterRegistry.counter(METRIC_NAME + ".rejected", "type", "write");
+        Gauge.builder(METRIC_NAME + ".waiting", this, PostAdmissionFilter::waiting)
+                .description("Requests waiting for a database connection")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean read = isRead(request.getMethod());
+
+        if (waiting() < (read ? readMaxWaiting : writeMaxWaiting)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        (read ? readRejected : writeRejected).increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(busyBody.length);
+        response.getOutputStream().write(busyBody);
+    }
+
+    int waiting() {
+        int waiting = postExecutor.queued();
+
+        for (HikariDataSource dataSource : hikariDataSources) {
+            waiting += awaitingConnection(dataSource);
+        }
+
+        for (HikariDataSource dataSource : replicaDataSources) {
+            waiting += awaitingConnection(dataSource);
+        }
+
+        return waiting;
+    }
+
+    // a pool is only created on its first connection, until then nobody waits on it
+    private static int awaitingConnection(HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+    }
+
+    private static boolean isRead(String method) {
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method) || HttpMethod.OPTIONS.matches(method);
+    }
+}
@@ -0,0 +1,43 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// cold and long-deleted posts; rows are copied from post by PostArchiver and never updated
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_post_archive_owner_name_created_at_id", columnList = "ownerName, createdAt desc, id desc")
+})
+@NoArgsConstructor @AllArgsConstructor
+@Getter @Setter @ToString @EqualsAndHashCode(of = "id")
+@Builder
+public class PostArchive implements Serializable {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    @Convert(converter = PostContentConverter.class)
+    private String content;
+
+    @Column(nullable = false)
+    private String ownerName;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false)
+    private long version;
+
+    // null for posts archived because they went cold
+    private LocalDateTime deletedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,26 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+@Transactional(readOnly = true)
+public interface PostArchiveRepository extends JpaRepository<PostArchive, Long> {
+    Optional<PostArchive> findByIdAndDeletedAtIsNull(Long id);
+
+    // copies the rows inside the database, deleted or not, without loading them
+    @Modifying
+    @Transactional
+    @Query(value = "insert into post_archive (id, title, content, owner_name, created_at, updated_at, version, deleted_at, archived_at) " +
+            "select id, title, content, owner_name, created_at, updated_at, version, deleted_at, :archivedAt from post where id in :ids",
+            nativeQuery = true)
+    int archiveByIdIn(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -0,0 +1,127 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Moves posts that were deleted long enough ago, and optionally posts nobody has touched for a while,
+ * from post to post_archive. Every batch is its own short transaction and a run stops after a fixed
+ * number of batches, so a large backlog is worked off over several runs instead of one long lock.
+ * Archived cold posts are only reachable by id: list pages, feeds, search and export read post alone.
+ */
+// nothing depends on the archiver, so it opts out of lazy initialization to start its schedule
+@Component
+@Lazy(false)
+@Slf4j
+public class PostArchiver {
+    private final PostRepository postRepository;
+    private final PostArchiveRepository postArchiveRepository;
+    private final PostChangeNotifier postChangeNotifier;
+    private final AppProperties appProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService scheduler;
+
+    public PostArchiver(PostRepository postRepository, PostArchiveRepository postArchiveRepository,
+                        PostChangeNotifier postChangeNotifier, AppProperties appProperties,
+                        PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.postArchiveRepository = postArchiveRepository;
+        this.postChangeNotifier = postChangeNotifier;
+        this.appProperties = appProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "post-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = appProperties.getPostArchiveInterval().toMillis();
+
+        if (interval > 0) {
+            scheduler.scheduleWithFixedDelay(this::run, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public int archiveDeletedBefore(LocalDateTime before) {
+        return archiveInBatches(batchSize -> postRepository.findIdsDeletedBefore(before, batchSize));
+    }
+
+    // cold posts leave the search index and feeds; getPost still finds them in the archive
+    public int archiveNotUpdatedSince(LocalDateTime before) {
+        return archiveInBatches(batchSize -> {
+            List<Post> posts = postRepository.findNotUpdatedSince(before, PageRequest.of(0, batchSize));
+            posts.forEach(post -> postChangeNotifier.removed(post.getId(), post.getOwnerName()));
+            return posts.stream()
+                    .map(Post::getId)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    private void run() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int archived = archiveDeletedBefore(now.minus(appProperties.getPostArchiveDeletedAfter()));
+            Duration coldAfter = appProperties.getPostArchiveColdAfter();
+
+            if (!coldAfter.isZero()) {
+                archived += archiveNotUpdatedSince(now.minus(coldAfter));
+            }
+
+            if (archived > 0) {
+                log.info("Archived {} posts.", archived);
+            }
+        } catch (RuntimeException e) {
+            // an exception would cancel the schedule
+            log.error("failed to archive posts", e);
+        }
+    }
+
+    private int archiveInBatches(Function<Integer, List<Long>> candidates) {
+        int batchSize = appProperties.getPostArchiveBatchSize();
+        int archived = 0;
+
+        for (int i = 0; i < appProperties.getPostArchiveMaximumBatches(); i++) {
+            int moved = transactionTemplate.execute(status -> {
+                List<Long> ids = candidates.apply(batchSize);
+
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+
+                postArchiveRepository.archiveByIdIn(ids, LocalDateTime.now());
+                return postRepository.purgeByIdIn(ids);
+            });
+            archived += moved;
+
+            if (moved < batchSize) {
+                break;
+            }
+        }
+
+        return archived;
+    }
+}
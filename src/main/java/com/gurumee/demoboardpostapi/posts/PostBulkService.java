@@ -0,0 +1,130 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Writes many posts in one transaction. The persistence context is flushed and cleared every batch,
+ * so Hibernate sends each batch as one JDBC batch and the heap does not grow with the request size.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostBulkService {
+    private final PostRepository postRepository;
+    private final PostChangeNotifier postChangeNotifier;
+    private final EntityManager entityManager;
+    private final AppProperties appProperties;
+
+    @Transactional
+    public List<PostResponseDto> createAll(List<CreatePostRequestDto> requestDtoList, String ownerName) {
+        List<PostResponseDto> responseDtoList = new ArrayList<>(requestDtoList.size());
+
+        for (CreatePostRequestDto requestDto : requestDtoList) {
+            Post post = Post.builder()
+                    .title(requestDto.getTitle())
+                    .content(requestDto.getContent())
+                    .ownerName(ownerName)
+                    .build();
+            entityManager.persist(post);
+            responseDtoList.add(PostController.convertResponseDto(post));
+
+            if (responseDtoList.size() % appProperties.getPostBulkBatchSize() == 0) {
+                flushAndClear();
+            }
+        }
+
+        flushAndClear();
+        return responseDtoList;
+    }
+
+    // ownership is checked by the caller; posts deleted in the meantime are skipped
+    @Transactional
+    public List<PostResponseDto> updateAll(List<BulkUpdatePostItemDto> requestDtoList) {
+        List<PostResponseDto> responseDtoList = new ArrayList<>(requestDtoList.size());
+
+        for (List<BulkUpdatePostItemDto> batch : partition(requestDtoList)) {
+            Map<Long, Post> posts = findAllById(batch.stream()
+                    .map(BulkUpdatePostItemDto::getId)
+                    .collect(Collectors.toList()));
+            List<Post> updated = new ArrayList<>(batch.size());
+
+            for (BulkUpdatePostItemDto requestDto : batch) {
+                Post post = posts.get(requestDto.getId());
+
+                if (post != null) {
+                    post.setTitle(requestDto.getTitle());
+                    post.setContent(requestDto.getContent());
+                    updated.add(post);
+                }
+            }
+
+            // updated_at is stamped on flush
+            entityManager.flush();
+            updated.forEach(post -> responseDtoList.add(PostController.convertResponseDto(post)));
+            entityManager.clear();
+        }
+
+        return responseDtoList;
+    }
+
+    // ownership is checked by the caller; posts deleted in the meantime are skipped
+    @Transactional
+    public List<PostResponseDto> deleteAll(List<Long> ids) {
+        List<PostResponseDto> responseDtoList = new ArrayList<>(ids.size());
+        // deleted_at comes from this clock like a single delete, not from the database's current_timestamp
+        LocalDateTime now = LocalDateTime.now();
+
+        for (List<Long> batch : partition(ids)) {
+            // the response carries the content, which is otherwise loaded lazily one post at a time
+            Map<Long, Post> posts = postRepository.findAllWithContentByIdIn(batch).stream()
+                    .collect(Collectors.toMap(Post::getId, Function.identity()));
+
+            for (Long id : batch) {
+                Post post = posts.get(id);
+
+                if (post != null) {
+                    responseDtoList.add(PostController.convertResponseDto(post));
+                    // a bulk update skips the entity listener
+                    postChangeNotifier.removed(post.getId(), post.getOwnerName());
+                }
+            }
+
+            if (!posts.isEmpty()) {
+                postRepository.deleteByIdIn(posts.keySet(), now);
+            }
+        }
+
+        return responseDtoList;
+    }
+
+    private Map<Long, Post> findAllById(List<Long> ids) {
+        return postRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+    }
+
+    private <T> List<List<T>> partition(List<T> list) {
+        int batchSize = appProperties.getPostBulkBatchSize();
+        List<List<T>> batches = new ArrayList<>();
+
+        for (int i = 0; i < list.size(); i += batchSize) {
+            batches.add(list.subList(i, Math.min(i + batchSize, list.size())));
+        }
+
+        return batches;
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
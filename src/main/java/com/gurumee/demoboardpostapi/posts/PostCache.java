@@ -0,0 +1,36 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+@Component
+public class PostCache {
+    private static final String CACHE_NAME = "posts";
+
+    private final Cache<Long, PostResponseDto> cache;
+
+    public PostCache(AppProperties appProperties, MeterRegistry meterRegistry) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(appProperties.getPostCacheMaximumSize())
+                .expireAfterWrite(appProperties.getPostCacheExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // a missing post is not cached, so the loader runs again on the next lookup
+    public Optional<PostResponseDto> get(Long id, Function<Long, PostResponseDto> loader) {
+        return Optional.ofNullable(cache.get(id, loader));
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+}
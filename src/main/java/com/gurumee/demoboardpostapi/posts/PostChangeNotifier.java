@@ -0,0 +1,86 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Brings the search index, post cache and per-user feeds up to date once a write has committed.
+ * Entity writes reach it through PostEntityListener; bulk JPQL statements bypass entity callbacks
+ * and must call it themselves. Posts saved in one transaction are handed over together after it
+ * commits, so a bulk write costs the feeds one query instead of one per post.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostChangeNotifier {
+    private final PostSearchIndex postSearchIndex;
+    private final PostCache postCache;
+    private final PostFeed postFeed;
+
+    public void saved(Post post) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onSave(List.of(post));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Long, Post> saved = (Map<Long, Post>) TransactionSynchronizationManager.getResource(this);
+
+        if (saved == null) {
+            Map<Long, Post> posts = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, posts);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    onSave(posts.values());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PostChangeNotifier.this);
+                }
+            });
+            saved = posts;
+        }
+
+        // a post persisted and then updated in the same transaction is handed over once, in its last state
+        saved.put(post.getId(), post);
+    }
+
+    public void removed(Long id, String ownerName) {
+        afterCommit(() -> {
+            postSearchIndex.remove(id);
+            postCache.invalidate(id);
+            postFeed.onRemove(ownerName, id);
+        });
+    }
+
+    private void onSave(Collection<Post> posts) {
+        for (Post post : posts) {
+            postSearchIndex.index(post);
+            postCache.invalidate(post.getId());
+        }
+
+        postFeed.onSave(posts);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
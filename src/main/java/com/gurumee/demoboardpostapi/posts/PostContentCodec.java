@@ -0,0 +1,97 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/*
+ * Stored form of post content. Compressed values are raw deflate at the fastest level, base64 encoded
+ * so they still fit the TEXT column, behind a marker that plain text does not start with. Values
+ * without the marker, including every row written before compression existed, are read as they are.
+ */
+public final class PostContentCodec {
+    static final String MARKER = "\u0001z";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private PostContentCodec() {
+    }
+
+    // content shorter than the threshold, or that does not shrink, is stored as it is
+    public static String encode(String content, int threshold) {
+        if (content == null) {
+            return null;
+        }
+
+        boolean mustEncode = content.startsWith(MARKER);
+
+        if (!mustEncode && content.length() < threshold) {
+            return content;
+        }
+
+        String encoded = MARKER + Base64.getEncoder().encodeToString(deflate(content.getBytes(StandardCharsets.UTF_8)));
+
+        if (!mustEncode && encoded.length() >= content.length()) {
+            return content;
+        }
+
+        return encoded;
+    }
+
+    public static String decode(String stored) {
+        if (stored == null || !stored.startsWith(MARKER)) {
+            return stored;
+        }
+
+        byte[] compressed = Base64.getDecoder().decode(stored.substring(MARKER.length()));
+        return new String(inflate(compressed), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+            byte[] buffer = new byte[BUFFER_SIZE];
+
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        Inflater inflater = new Inflater(true);
+
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated post content.");
+                }
+
+                out.write(buffer, 0, length);
+            }
+
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt post content.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
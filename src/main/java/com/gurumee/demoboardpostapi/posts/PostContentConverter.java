@@ -0,0 +1,24 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import lombok.RequiredArgsConstructor;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+// instantiated by Hibernate through Spring's bean container, like PostEntityListener
+@Converter
+@RequiredArgsConstructor
+public class PostContentConverter implements AttributeConverter<String, String> {
+    private final AppProperties appProperties;
+
+    @Override
+    public String convertToDatabaseColumn(String content) {
+        return PostContentCodec.encode(content, appProperties.getPostContentCompressionThreshold());
+    }
+
+    @Override
+    public String convertToEntityAttribute(String stored) {
+        return PostContentCodec.decode(stored);
+    }
+}
@@ -1,21 +1,45 @@
 package com.gurumee.demoboardpostapi.posts;
 
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import com.gurumee.demoboardpostapi.configs.ReplicaRoutingDataSource;
 import com.gurumee.demoboardpostapi.errors.ErrorResponseDto;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.Authorization;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.Errors;
 import org.springframework.web.bind.annotation.*;
 import springfox.documentation.annotations.ApiIgnore;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Api(value = "Post API -> 추후 Product")
@@ -23,41 +47,323 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/posts")
 @RequiredArgsConstructor
 public class PostController {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    static final int MAX_PAGE_SIZE = 100;
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RETURN_MINIMAL = "return=minimal";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
     private final PostRepository postRepository;
+    private final PostArchiveRepository postArchiveRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final PostCache postCache;
+    private final PostExporter postExporter;
+    private final PostBulkService postBulkService;
+    private final AppProperties appProperties;
+    private final PostExecutor postExecutor;
+    private final PostFeed postFeed;
+    private final PostChangeNotifier postChangeNotifier;
 
     @ApiOperation(value = "GET /api/posts", notes = "get post list")
     @Authorization(value = "read")
     @GetMapping
-    public ResponseEntity getPosts(@RequestParam(value="username", required = false) String username) {
-        List<Post> posts;
+    public CompletableFuture<ResponseEntity> getPosts(@RequestParam(value="username", required = false) String username,
+                                                      @RequestParam(value="cursor", required = false) String cursor,
+                                                      @RequestParam(value="limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                      @RequestParam(value="view", defaultValue = "summary") String view) {
+        return async(() -> findPosts(username, cursor, limit, view));
+    }
+
+    private ResponseEntity findPosts(String username, String cursor, int limit, String view) {
+        Optional<PostView> viewOrNull = PostView.decode(view);
+
+        if (viewOrNull.isEmpty()) {
+            return invalidViewResponse(view);
+        }
+
+        Optional<PostCursor> cursorOrNull = Optional.empty();
+
+        if (cursor != null) {
+            cursorOrNull = PostCursor.decode(cursor);
+
+            if (cursorOrNull.isEmpty()) {
+                return invalidCursorResponse(cursor);
+            }
+        }
+
+        int pageSize = boundPageSize(limit);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<PostSummaryDto> posts;
 
         if (username == null) {
-            posts = postRepository.findAllByOrderByCreatedAtDesc();
+            posts = cursorOrNull
+                    .map(c -> postRepository.findSummariesBefore(c.getCreatedAt(), c.getId(), pageable))
+                    .orElseGet(() -> postRepository.findSummaries(pageable));
         } else {
-            posts = postRepository.findByOwnerNameOrderByCreatedAtDesc(username);
+            // recent pages come from the in-memory feed, older ones from the database
+            PostCursor after = cursorOrNull.orElse(null);
+            posts = postFeed.page(username, after, pageSize + 1)
+                    .orElseGet(() -> after == null
+                            ? postRepository.findSummariesByOwnerName(username, pageable)
+                            : postRepository.findSummariesByOwnerNameBefore(username, after.getCreatedAt(), after.getId(), pageable));
         }
 
-        List<PostResponseDto> responseDtoList = posts.stream().map(this::convertResponseDto).collect(Collectors.toList());
-        return ResponseEntity.ok(responseDtoList);
+        return conditionalPageResponse(withView(convertPageResponseDto(posts, pageSize), viewOrNull.get()));
+    }
+
+    @ApiOperation(value = "GET /api/posts/export", notes = "export post list as newline delimited json")
+    @Authorization(value = "admin")
+    @GetMapping("/export")
+    // streamed on the request thread: async processing would cut a long dump off at the async request timeout,
+    // after the 200 has been sent; the exporter's permits bound the threads this holds
+    public void exportPosts(@RequestParam(value="username", required = false) String username,
+                            @ApiIgnore HttpServletResponse response) throws IOException {
+        if (!postExporter.tryAcquire()) {
+            throw new RejectedExecutionException("Too many exports are running.");
+        }
+
+        try {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            postExporter.export(username, response.getOutputStream());
+        } finally {
+            postExporter.release();
+        }
     }
 
     @ApiOperation(value = "GET /api/posts/search", notes = "search post list")
     @Authorization(value = "read")
     @GetMapping("/search")
-    public ResponseEntity searchPosts(@RequestParam(value="keyword", required = false) String keyword) {
-        List<Post> posts;
+    public CompletableFuture<ResponseEntity> searchPosts(@RequestParam(value="keyword", required = false) String keyword,
+                                                         @RequestParam(value="cursor", required = false) String cursor,
+                                                         @RequestParam(value="limit", defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+                                                         @RequestParam(value="view", defaultValue = "summary") String view) {
+        return async(() -> {
+            // a blank keyword matches every post, like the plain list
+            if (keyword == null || keyword.isBlank()) {
+                return findPosts(null, cursor, limit, view);
+            }
+
+            Optional<PostView> viewOrNull = PostView.decode(view);
+
+            if (viewOrNull.isEmpty()) {
+                return invalidViewResponse(view);
+            }
+
+            Optional<PostSearchHit> cursorOrNull = Optional.empty();
+
+            if (cursor != null) {
+                cursorOrNull = PostSearchHit.decode(cursor);
+
+                if (cursorOrNull.isEmpty()) {
+                    return invalidCursorResponse(cursor);
+                }
+            }
+
+            int pageSize = boundPageSize(limit);
+            List<PostSearchHit> hits = postSearchIndex.search(keyword, cursorOrNull.orElse(null), pageSize + 1);
+            List<Long> ids = hits.stream()
+                    .limit(pageSize)
+                    .map(PostSearchHit::getId)
+                    .collect(Collectors.toList());
+            Map<Long, PostSummaryDto> posts = postRepository.findSummariesByIdIn(ids).stream()
+                    .collect(Collectors.toMap(PostSummaryDto::getId, Function.identity()));
+            List<PostSummaryDto> responseDtoList = ids.stream()
+                    .map(posts::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+            String nextCursor = null;
+
+            if (hits.size() > pageSize) {
+                nextCursor = hits.get(pageSize - 1).encode();
+            }
+
+            PostPageResponseDto responseDto = PostPageResponseDto.builder()
+                    .posts(responseDtoList)
+                    .next_cursor(nextCursor)
+                    .build();
+            return conditionalPageResponse(withView(responseDto, viewOrNull.get()));
+        });
+    }
 
-        if (keyword == null) {
-            posts = postRepository.findAllByOrderByCreatedAtDesc();
-        } else {
-            posts = postRepository.findByTitleContainingOrContentContainingOrderByCreatedAtDesc(keyword, keyword);
+    // handlers run on the bounded post executor so that Tomcat threads are not held while waiting on the database
+    private CompletableFuture<ResponseEntity> async(Callable<ResponseEntity> task) {
+        try {
+            return postExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
+                    .message("Server is busy.")
+                    .build();
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errResponseDto));
+        }
+    }
+
+    /*
+     * Tags are weak: they name a post version, not a byte sequence, and the gzip and identity encodings
+     * share them. Tomcat only compresses responses without a strong ETag.
+     */
+    private static String eTag(PostResponseDto responseDto) {
+        return eTag(responseDto.getId(), responseDto.getVersion());
+    }
+
+    private static String eTag(Long id, Long version) {
+        return WEAK_ETAG_PREFIX + "\"" + id + "-" + version + "\"";
+    }
+
+    // a page changes when any of its posts is updated, removed or replaced, or when the next page changes
+    private static String eTag(PostPageResponseDto responseDto) {
+        StringBuilder builder = new StringBuilder();
+        responseDto.getPosts().forEach(post -> builder.append(post.getId()).append('-').append(post.getVersion()).append(';'));
+        builder.append(responseDto.getNext_cursor());
+        return WEAK_ETAG_PREFIX + "\"" + DigestUtils.md5DigestAsHex(builder.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // answered with 304 by Spring before the body is serialized when If-None-Match matches
+    private ResponseEntity conditionalPageResponse(PostPageResponseDto responseDto) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag(responseDto))
+                .body(responseDto);
+    }
+
+    // empty without a condition or with *, otherwise the versions of this post named by If-Match, possibly none;
+    // a weak tag of ours still names exactly one version, so it is accepted like the strong form
+    private static Optional<Set<Long>> ifMatchVersions(String ifMatch, Long id) {
+        if (ifMatch == null) {
+            return Optional.empty();
+        }
+
+        Set<Long> versions = new HashSet<>();
+
+        for (String candidate : ifMatch.split(",")) {
+            String eTag = candidate.trim();
+
+            if (eTag.equals("*")) {
+                return Optional.empty();
+            }
+
+            if (eTag.startsWith(WEAK_ETAG_PREFIX)) {
+                eTag = eTag.substring(WEAK_ETAG_PREFIX.length());
+            }
+
+            String prefix = "\"" + id + "-";
+
+            if (eTag.startsWith(prefix) && eTag.endsWith("\"")) {
+                try {
+                    versions.add(Long.valueOf(eTag.substring(prefix.length(), eTag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // not one of our tags, so it cannot match
+                }
+            }
+        }
+
+        return Optional.of(versions);
+    }
+
+    // RFC 7240: the client only needs the status (and ETag), not the post
+    private static boolean returnMinimal(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+
+        for (String preference : prefer.split(",")) {
+            if (preference.trim().equalsIgnoreCase(RETURN_MINIMAL)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    // a conditional write touched no row, so only failures pay for this read
+    private ResponseEntity writeFailedResponse(Long id, String ownerName) {
+        Optional<Post> postOrNull = postRepository.findById(id);
+
+        if (postOrNull.isEmpty()) {
+            return errorResponse(HttpStatus.NOT_FOUND, "Post ID: " + id + " is not exist.");
+        }
+
+        if (!postOrNull.get().getOwnerName().equals(ownerName)) {
+            return errorResponse(HttpStatus.FORBIDDEN, "Owner is different.");
+        }
+
+        return preconditionFailedResponse(id);
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity optimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        return errorResponse(HttpStatus.CONFLICT, "Post ID: " + e.getIdentifier() + " has been modified concurrently.");
+    }
+
+    // exports are rejected here; handlers on the post executor answer their own rejections
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity rejectedExecution(RejectedExecutionException e) {
+        return errorResponse(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
+    private ResponseEntity preconditionFailedResponse(Long id) {
+        ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
+                .message("Post ID: " + id + " has been modified.")
+                .build();
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errResponseDto);
+    }
+
+    private int boundPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private ResponseEntity invalidCursorResponse(String cursor) {
+        ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
+                .message("Cursor: " + cursor + " is invalid.")
+                .build();
+        return ResponseEntity.badRequest().body(errResponseDto);
+    }
+
+    private ResponseEntity invalidViewResponse(String view) {
+        ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
+                .message("View: " + view + " is not supported.")
+                .build();
+        return ResponseEntity.badRequest().body(errResponseDto);
+    }
+
+    // pages are always built from summaries; the full view reads the content of just the posts on the page
+    private PostPageResponseDto withView(PostPageResponseDto responseDto, PostView view) {
+        if (view == PostView.SUMMARY || responseDto.getPosts().isEmpty()) {
+            return responseDto;
+        }
+
+        List<Long> ids = responseDto.getPosts().stream()
+                .map(PostSummaryDto::getId)
+                .collect(Collectors.toList());
+        Map<Long, PostSummaryDto> posts = postRepository.findFullByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostSummaryDto::getId, Function.identity()));
+        List<PostSummaryDto> responseDtoList = ids.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return PostPageResponseDto.builder()
+                .posts(responseDtoList)
+                .next_cursor(responseDto.getNext_cursor())
+                .build();
+    }
+
+    // posts are fetched with one extra row so that the presence of a next page is known without a count query
+    private PostPageResponseDto convertPageResponseDto(List<PostSummaryDto> posts, int pageSize) {
+        List<PostSummaryDto> responseDtoList = posts.size() > pageSize ? posts.subList(0, pageSize) : posts;
+        String nextCursor = null;
+
+        if (posts.size() > pageSize) {
+            PostSummaryDto last = responseDtoList.get(responseDtoList.size() - 1);
+            nextCursor = new PostCursor(last.getCreated_at(), last.getId()).encode();
         }
 
-        List<PostResponseDto> responseDtoList = posts.stream().map(this::convertResponseDto).collect(Collectors.toList());
-        return ResponseEntity.ok(responseDtoList);
+        return PostPageResponseDto.builder()
+                .posts(responseDtoList)
+                .next_cursor(nextCursor)
+                .build();
     }
 
-    private PostResponseDto convertResponseDto(Post post) {
+    static PostResponseDto convertResponseDto(Post post) {
         return PostResponseDto.builder()
                 .id(post.getId())
                 .title(post.getTitle())
@@ -65,137 +371,312 @@ public class PostController {
                 .owner_name(post.getOwnerName())
                 .created_at(post.getCreatedAt())
                 .updated_at(post.getUpdatedAt())
+                .version(post.getVersion())
+                .build();
+    }
+
+    static PostResponseDto convertResponseDto(PostArchive postArchive) {
+        return PostResponseDto.builder()
+                .id(postArchive.getId())
+                .title(postArchive.getTitle())
+                .content(postArchive.getContent())
+                .owner_name(postArchive.getOwnerName())
+                .created_at(postArchive.getCreatedAt())
+                .updated_at(postArchive.getUpdatedAt())
+                .version(postArchive.getVersion())
                 .build();
     }
 
     @ApiOperation(value = "POST /api/posts/", notes = "create a post")
     @Authorization(value = "write")
     @PostMapping
-    public ResponseEntity createPost(@RequestBody @Valid CreatePostRequestDto requestDto,
-                                     @ApiIgnore Errors errors) {
-        if (errors.hasErrors()) {
-            return ResponseEntity.badRequest().body(errors);
-        }
-
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String ownerName = authentication.getName();
-
-        if (ownerName == null) {
-            ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
-                    .message("Accees token is not exist.")
+    public CompletableFuture<ResponseEntity> createPost(@RequestBody @Valid CreatePostRequestDto requestDto,
+                                                        @ApiIgnore Errors errors) {
+        return async(() -> {
+            if (errors.hasErrors()) {
+                return ResponseEntity.badRequest().body(errors);
+            }
+
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String ownerName = authentication.getName();
+
+            if (ownerName == null) {
+                ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
+                        .message("Accees token is not exist.")
+                        .build();
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errResponseDto);
+            }
+
+            Post newPost = Post.builder()
+                    .title(requestDto.getTitle())
+                    .content(requestDto.getContent())
+                    .ownerName(ownerName)
                     .build();
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errResponseDto);
-        }
-
-        Post newPost = Post.builder()
-                .title(requestDto.getTitle())
-                .content(requestDto.getContent())
-                .ownerName(ownerName)
-                .build();
-        Post saved = postRepository.save(newPost);
-        PostResponseDto responseDto = convertResponseDto(saved);
-        return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
+            Post saved = postRepository.save(newPost);
+            PostResponseDto responseDto = convertResponseDto(saved);
+            return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
+        });
     }
 
 
     @ApiOperation(value = "GET /api/posts/:id", notes = "get a post")
     @Authorization(value = "read")
     @GetMapping("/{id}")
-    public ResponseEntity getPost(@PathVariable("id") Long id) {
-        Optional<Post> postOrNull = postRepository.findById(id);
-
-        if (postOrNull.isEmpty()) {
-            ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
-                    .message("Post ID: " + id + " is not exist.")
-                    .build();
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errResponseDto);
-        }
+    public CompletableFuture<ResponseEntity> getPost(@PathVariable("id") Long id) {
+        return async(() -> {
+            Optional<PostResponseDto> responseDtoOrNull = postCache.get(id, this::findResponseDto);
+
+            if (responseDtoOrNull.isEmpty()) {
+                ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
+                        .message("Post ID: " + id + " is not exist.")
+                        .build();
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errResponseDto);
+            }
+
+            PostResponseDto responseDto = responseDtoOrNull.get();
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag(eTag(responseDto))
+                    .lastModified(responseDto.getUpdated_at().atZone(ZoneId.systemDefault()))
+                    .body(responseDto);
+        });
+    }
 
-        Post post = postOrNull.get();
-        PostResponseDto responseDto = convertResponseDto(post);
-        return ResponseEntity.ok(responseDto);
+    // archived cold posts are still readable, though no longer writable. This fills the post cache, so it reads
+    // from the primary: a lagging replica would otherwise put the state from before an update back for its lifetime
+    private PostResponseDto findResponseDto(Long id) {
+        return ReplicaRoutingDataSource.onPrimary(() -> postRepository.findWithContentById(id)
+                .map(PostController::convertResponseDto)
+                .or(() -> postArchiveRepository.findByIdAndDeletedAtIsNull(id).map(PostController::convertResponseDto))
+                .orElse(null));
     }
 
     @ApiOperation(value = "PUT /api/posts/id", notes = "update a post")
     @Authorization(value = "write")
     @PutMapping("/{id}")
-    public ResponseEntity updatePost(@PathVariable("id") Long id,
-                                     @RequestBody @Valid UpdatePostRequestDto requestDto,
-                                     @ApiIgnore Errors errors) {
-        if (errors.hasErrors()) {
-            return ResponseEntity.badRequest().body(errors);
-        }
+    public CompletableFuture<ResponseEntity> updatePost(@PathVariable("id") Long id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @RequestHeader(value = PREFER, required = false) String prefer,
+                                                        @RequestBody @Valid UpdatePostRequestDto requestDto,
+                                                        @ApiIgnore Errors errors) {
+        return async(() -> {
+            if (errors.hasErrors()) {
+                return ResponseEntity.badRequest().body(errors);
+            }
+
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String ownerName = authentication.getName();
+
+            if (ownerName == null) {
+                ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
+                        .message("Accees token is not exist.")
+                        .build();
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errResponseDto);
+            }
+
+            Optional<Set<Long>> versionsOrNull = ifMatchVersions(ifMatch, id);
+
+            if (versionsOrNull.isPresent() && versionsOrNull.get().isEmpty()) {
+                return preconditionFailedResponse(id);
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            String preview = Post.previewOf(requestDto.getContent());
+            int updated = versionsOrNull
+                    .map(versions -> postRepository.updateByIdAndOwnerNameAndVersionIn(id, ownerName, versions,
+                            requestDto.getTitle(), requestDto.getContent(), preview, now))
+                    .orElseGet(() -> postRepository.updateByIdAndOwnerName(id, ownerName,
+                            requestDto.getTitle(), requestDto.getContent(), preview, now));
+
+            if (updated == 0) {
+                return writeFailedResponse(id, ownerName);
+            }
+
+            if (returnMinimal(prefer)) {
+                // everything the index and feed need is already known, so nothing is read back
+                postChangeNotifier.saved(Post.builder()
+                        .id(id)
+                        .title(requestDto.getTitle())
+                        .content(requestDto.getContent())
+                        .ownerName(ownerName)
+                        .build());
+                ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.NO_CONTENT)
+                        .header(PREFERENCE_APPLIED, RETURN_MINIMAL);
+
+                // the new version is only known when exactly one version could have matched
+                if (versionsOrNull.isPresent() && versionsOrNull.get().size() == 1) {
+                    builder.eTag(eTag(id, versionsOrNull.get().iterator().next() + 1));
+                }
+
+                return builder.build();
+            }
+
+            Optional<Post> postOrNull = postRepository.findWithContentById(id);
+
+            if (postOrNull.isEmpty()) {
+                ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
+                        .message("Post ID: " + id + " is not exist.")
+                        .build();
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errResponseDto);
+            }
+
+            postChangeNotifier.saved(postOrNull.get());
+            PostResponseDto responseDto = convertResponseDto(postOrNull.get());
+            return ResponseEntity.ok()
+                    .eTag(eTag(responseDto))
+                    .body(responseDto);
+        });
+    }
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String ownerName = authentication.getName();
+    @ApiOperation(value = "DELETE /api/posts/id", notes = "delete a post")
+    @Authorization(value = "write")
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity> deletePost(@PathVariable("id") Long id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return async(() -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            String ownerName = authentication.getName();
+
+            if (ownerName == null) {
+                ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
+                        .message("Accees token is not exist.")
+                        .build();
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errResponseDto);
+            }
+
+            Optional<Set<Long>> versionsOrNull = ifMatchVersions(ifMatch, id);
+
+            if (versionsOrNull.isPresent() && versionsOrNull.get().isEmpty()) {
+                return preconditionFailedResponse(id);
+            }
+
+            // the delete alone decides the outcome, so a successful delete reads nothing
+            LocalDateTime now = LocalDateTime.now();
+            int deleted = versionsOrNull
+                    .map(versions -> postRepository.deleteByIdAndOwnerNameAndVersionIn(id, ownerName, versions, now))
+                    .orElseGet(() -> postRepository.deleteByIdAndOwnerName(id, ownerName, now));
+
+            if (deleted == 0) {
+                return writeFailedResponse(id, ownerName);
+            }
+
+            postChangeNotifier.removed(id, ownerName);
+            return ResponseEntity.noContent().build();
+        });
+    }
 
-        if (ownerName == null) {
-            ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
-                    .message("Accees token is not exist.")
-                    .build();
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errResponseDto);
-        }
+    @ApiOperation(value = "POST /api/posts/bulk", notes = "create posts")
+    @Authorization(value = "write")
+    @PostMapping("/bulk")
+    public CompletableFuture<ResponseEntity> createPosts(@RequestBody @Valid BulkCreatePostRequestDto requestDto,
+                                                         @ApiIgnore Errors errors) {
+        return async(() -> {
+            if (errors.hasErrors()) {
+                return ResponseEntity.badRequest().body(errors);
+            }
+
+            String ownerName = SecurityContextHolder.getContext().getAuthentication().getName();
+
+            if (ownerName == null) {
+                return errorResponse(HttpStatus.UNAUTHORIZED, "Accees token is not exist.");
+            }
+
+            if (requestDto.getPosts().size() > appProperties.getPostBulkMaximumSize()) {
+                return bulkSizeExceededResponse(requestDto.getPosts().size());
+            }
+
+            List<PostResponseDto> responseDtoList = postBulkService.createAll(requestDto.getPosts(), ownerName);
+            return ResponseEntity.status(HttpStatus.CREATED).body(responseDtoList);
+        });
+    }
 
-        Optional<Post> postOrNull = postRepository.findById(id);
+    @ApiOperation(value = "PUT /api/posts/bulk", notes = "update posts")
+    @Authorization(value = "write")
+    @PutMapping("/bulk")
+    public CompletableFuture<ResponseEntity> updatePosts(@RequestBody @Valid BulkUpdatePostRequestDto requestDto,
+                                                         @ApiIgnore Errors errors) {
+        return async(() -> {
+            if (errors.hasErrors()) {
+                return ResponseEntity.badRequest().body(errors);
+            }
+
+            String ownerName = SecurityContextHolder.getContext().getAuthentication().getName();
+
+            if (ownerName == null) {
+                return errorResponse(HttpStatus.UNAUTHORIZED, "Accees token is not exist.");
+            }
+
+            if (requestDto.getPosts().size() > appProperties.getPostBulkMaximumSize()) {
+                return bulkSizeExceededResponse(requestDto.getPosts().size());
+            }
+
+            List<Long> ids = requestDto.getPosts().stream()
+                    .map(BulkUpdatePostItemDto::getId)
+                    .collect(Collectors.toList());
+            Optional<ResponseEntity> ownerErrorOrNull = checkOwner(ids, ownerName);
+
+            if (ownerErrorOrNull.isPresent()) {
+                return ownerErrorOrNull.get();
+            }
+
+            return ResponseEntity.ok(postBulkService.updateAll(requestDto.getPosts()));
+        });
+    }
 
-        if (postOrNull.isEmpty()) {
-            ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
-                    .message("Post ID: " + id + " is not exist.")
-                    .build();
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errResponseDto);
-        }
+    @ApiOperation(value = "DELETE /api/posts/bulk", notes = "delete posts")
+    @Authorization(value = "write")
+    @DeleteMapping("/bulk")
+    public CompletableFuture<ResponseEntity> deletePosts(@RequestParam("ids") List<Long> ids) {
+        return async(() -> {
+            String ownerName = SecurityContextHolder.getContext().getAuthentication().getName();
 
-        Post post = postOrNull.get();
+            if (ownerName == null) {
+                return errorResponse(HttpStatus.UNAUTHORIZED, "Accees token is not exist.");
+            }
 
-        if (!post.getOwnerName().equals(ownerName)) {
-            ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
-                    .message("Owner is different.")
-                    .build();
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errResponseDto);
-        }
+            List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
 
-        post.setTitle(requestDto.getTitle());
-        post.setContent(requestDto.getContent());
-        Post updated = postRepository.save(post);
-        PostResponseDto responseDto = convertResponseDto(updated);
-        return ResponseEntity.ok(responseDto);
-    }
+            if (distinctIds.size() > appProperties.getPostBulkMaximumSize()) {
+                return bulkSizeExceededResponse(distinctIds.size());
+            }
 
-    @ApiOperation(value = "DELETE /api/posts/id", notes = "delete a post")
-    @Authorization(value = "write")
-    @DeleteMapping("/{id}")
-    public ResponseEntity deletePost(@PathVariable("id") Long id) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String ownerName = authentication.getName();
+            Optional<ResponseEntity> ownerErrorOrNull = checkOwner(distinctIds, ownerName);
 
-        if (ownerName == null) {
-            ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
-                    .message("Accees token is not exist.")
-                    .build();
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errResponseDto);
-        }
+            if (ownerErrorOrNull.isPresent()) {
+                return ownerErrorOrNull.get();
+            }
 
-        Optional<Post> postOrNull = postRepository.findById(id);
+            return ResponseEntity.ok(postBulkService.deleteAll(distinctIds));
+        });
+    }
 
-        if (postOrNull.isEmpty()) {
-            ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
-                    .message("Post ID: " + id + " is not exist.")
-                    .build();
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errResponseDto);
-        }
+    // the whole request is rejected when any post is missing or owned by someone else; owners never change
+    private Optional<ResponseEntity> checkOwner(List<Long> ids, String ownerName) {
+        Map<Long, String> owners = postRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostSummaryDto::getId, PostSummaryDto::getOwner_name));
 
-        Post post = postOrNull.get();
+        for (Long id : ids) {
+            if (!owners.containsKey(id)) {
+                return Optional.of(errorResponse(HttpStatus.NOT_FOUND, "Post ID: " + id + " is not exist."));
+            }
 
-        if (!post.getOwnerName().equals(ownerName)) {
-            ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
-                    .message("Owner is different.")
-                    .build();
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(errResponseDto);
+            if (!owners.get(id).equals(ownerName)) {
+                return Optional.of(errorResponse(HttpStatus.FORBIDDEN, "Owner is different."));
+            }
         }
 
-        PostResponseDto responseDto = convertResponseDto(post);
-        postRepository.delete(post);
-        return ResponseEntity.ok(responseDto);
+        return Optional.empty();
     }
 
+    private ResponseEntity bulkSizeExceededResponse(int size) {
+        return errorResponse(HttpStatus.BAD_REQUEST,
+                "Bulk size: " + size + " exceeds the maximum of " + appProperties.getPostBulkMaximumSize() + ".");
+    }
+
+    private ResponseEntity errorResponse(HttpStatus status, String message) {
+        ErrorResponseDto errResponseDto = ErrorResponseDto.builder()
+                .message(message)
+                .build();
+        return ResponseEntity.status(status).body(errResponseDto);
+    }
 }
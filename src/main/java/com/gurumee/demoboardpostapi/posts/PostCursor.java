@@ -0,0 +1,40 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Optional;
+
+@AllArgsConstructor
+@Getter @ToString @EqualsAndHashCode
+public class PostCursor {
+    private static final String DELIMITER = "_";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public String encode() {
+        String raw = createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Optional<PostCursor> decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+
+            if (index < 0) {
+                return Optional.empty();
+            }
+
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, index));
+            Long id = Long.valueOf(raw.substring(index + 1));
+            return Optional.of(new PostCursor(createdAt, id));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+// instantiated by Hibernate through Spring's bean container, so dependencies are constructor-injected
+@RequiredArgsConstructor
+public class PostEntityListener {
+    // the notifier reads through PostRepository, which needs the entity manager factory this listener is part of
+    private final ObjectProvider<PostChangeNotifier> postChangeNotifier;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Post post) {
+        postChangeNotifier.getObject().saved(post);
+    }
+
+    @PostRemove
+    public void onRemove(Post post) {
+        postChangeNotifier.getObject().removed(post.getId(), post.getOwnerName());
+    }
+}
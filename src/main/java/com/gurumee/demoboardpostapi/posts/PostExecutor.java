@@ -0,0 +1,76 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Bounded pool for the blocking part of request handling. It is sized below the connection pool,
+ * so waiting requests queue here instead of occupying servlet container threads or waiting on the pool.
+ * The caller's security context is carried over to the pool thread.
+ */
+@Component
+public class PostExecutor {
+    private static final String EXECUTOR_NAME = "post_executor";
+    // MySQL has no sequences, so Hibernate emulates post_id_seq with a table and fetches each id block on a
+    // second connection while the inserting transaction holds its own; the archiver and the search index
+    // refresh take one each as well
+    static final int RESERVED_CONNECTIONS = 3;
+
+    private final ThreadPoolExecutor threadPoolExecutor;
+    private final ExecutorService executor;
+
+    public PostExecutor(AppProperties appProperties, MeterRegistry meterRegistry) {
+        int required = appProperties.getPostExecutorPoolSize() + appProperties.getPostExportMaxConcurrent()
+                + RESERVED_CONNECTIONS;
+
+        if (required > appProperties.getDbPoolMaximumSize()) {
+            throw new IllegalStateException(String.format(
+                    "my-app.db-pool-maximum-size (%d) must be at least my-app.post-executor-pool-size + " +
+                            "my-app.post-export-max-concurrent + %d (%d).",
+                    appProperties.getDbPoolMaximumSize(), RESERVED_CONNECTIONS, required));
+        }
+
+        threadPoolExecutor = new ThreadPoolExecutor(
+                appProperties.getPostExecutorPoolSize(), appProperties.getPostExecutorPoolSize(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(appProperties.getPostExecutorQueueCapacity()),
+                new CustomizableThreadFactory("post-executor-"));
+        executor = new DelegatingSecurityContextExecutorService(
+                ExecutorServiceMetrics.monitor(meterRegistry, threadPoolExecutor, EXECUTOR_NAME));
+    }
+
+    // throws RejectedExecutionException when the queue is full
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    // tasks waiting for a free pool thread, and so for a connection
+    public int queued() {
+        return threadPoolExecutor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
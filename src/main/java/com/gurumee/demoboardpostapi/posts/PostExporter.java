@@ -0,0 +1,81 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+@Component
+public class PostExporter {
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final PostRepository postRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+
+    public PostExporter(PostRepository postRepository, EntityManager entityManager, ObjectMapper objectMapper,
+                        AppProperties appProperties) {
+        this.postRepository = postRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(appProperties.getPostExportMaxConcurrent());
+    }
+
+    // exports run outside the post executor, so they are capped here; a successful acquire must be released
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    // writes one JSON object per line while the rows are read, detaching each entity so heap use stays flat
+    @Timed("posts.export")
+    @Transactional(readOnly = true)
+    public void export(String username, OutputStream out) throws IOException {
+        try (Stream<Post> posts = username == null ? postRepository.streamAll() : postRepository.streamByOwnerName(username);
+             JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(new SerializedString("\n"));
+            Iterator<Post> iterator = posts.iterator();
+
+            while (iterator.hasNext()) {
+                Post post = iterator.next();
+                write(gen, post);
+                entityManager.detach(post);
+            }
+
+            gen.writeRaw('\n');
+        }
+    }
+
+    private void write(JsonGenerator gen, Post post) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("id", post.getId());
+        gen.writeStringField("title", post.getTitle());
+        gen.writeStringField("content", post.getContent());
+        gen.writeStringField("owner_name", post.getOwnerName());
+        gen.writeStringField("created_at", format(post.getCreatedAt()));
+        gen.writeStringField("updated_at", format(post.getUpdatedAt()));
+        gen.writeEndObject();
+    }
+
+    private String format(LocalDateTime dateTime) {
+        return dateTime == null ? null : dateTime.format(DATE_TIME_FORMATTER);
+    }
+}
@@ -0,0 +1,222 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import com.gurumee.demoboardpostapi.configs.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/*
+ * The latest feedSize posts of each active user, newest first, so that recent pages of
+ * GET /api/posts?username= are served from memory. A feed is loaded on first read and then kept up to date
+ * by PostEntityListener; it is dropped after expireAfterWrite from loading, which bounds how long a write made
+ * through another instance can be missed. The cache is bounded by the posts held over all feeds, not by users.
+ */
+@Component
+public class PostFeed {
+    private static final String CACHE_NAME = "post_feeds";
+    private static final Comparator<PostSummaryDto> NEWEST_FIRST = Comparator
+            .comparing(PostSummaryDto::getCreated_at)
+            .thenComparing(PostSummaryDto::getId)
+            .reversed();
+
+    private final PostRepository postRepository;
+    private final int feedSize;
+    private final Cache<String, UserFeed> cache;
+
+    public PostFeed(PostRepository postRepository, AppProperties appProperties, MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        // pages are asked for one post beyond the page size, to know whether another page follows
+        this.feedSize = Math.max(appProperties.getPostFeedSize(), PostController.MAX_PAGE_SIZE + 1);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(appProperties.getPostFeedMaximumEntries())
+                .weigher((String username, UserFeed feed) -> feed.weight())
+                .expireAfter(new LoadTimeExpiry(appProperties.getPostFeedExpireAfterWrite()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    // empty when the requested page reaches past the posts held in memory
+    public Optional<List<PostSummaryDto>> page(String username, PostCursor cursor, int size) {
+        UserFeed feed = cache.get(username, this::load);
+        return feed.page(cursor, size);
+    }
+
+    // summaries are re-read so that created_at has the precision stored in the database, which cursors rely on.
+    // The posts of every feed held are read in one query from the primary, before any feed is locked
+    public void onSave(Collection<Post> posts) {
+        Map<Long, String> owners = posts.stream()
+                .filter(post -> cache.asMap().containsKey(post.getOwnerName()))
+                .collect(Collectors.toMap(Post::getId, Post::getOwnerName, (first, second) -> second, LinkedHashMap::new));
+
+        if (owners.isEmpty()) {
+            return;
+        }
+
+        List<PostSummaryDto> saved = ReplicaRoutingDataSource.onPrimary(
+                () -> postRepository.findSummariesByIdIn(new ArrayList<>(owners.keySet())));
+
+        for (PostSummaryDto summary : saved) {
+            owners.remove(summary.getId());
+            cache.asMap().computeIfPresent(summary.getOwner_name(), (username, feed) -> {
+                feed.upsert(summary);
+                return feed;
+            });
+        }
+
+        // gone again by now, so those feeds are reloaded rather than guessed at
+        owners.values().forEach(cache::invalidate);
+    }
+
+    public void onRemove(String username, Long id) {
+        cache.asMap().computeIfPresent(username, (key, feed) -> {
+            feed.remove(id);
+            return feed;
+        });
+    }
+
+    private UserFeed load(String username) {
+        List<PostSummaryDto> posts = postRepository.findSummariesByOwnerName(username, PageRequest.of(0, feedSize));
+        return new UserFeed(feedSize, posts);
+    }
+
+    // fixed-capacity ring buffer kept in NEWEST_FIRST order; complete while it holds every post of the user
+    private static class UserFeed {
+        private final PostSummaryDto[] entries;
+        private int head;
+        private int size;
+        private boolean complete;
+
+        private UserFeed(int capacity, List<PostSummaryDto> posts) {
+            this.entries = new PostSummaryDto[capacity];
+            this.complete = posts.size() < capacity;
+            posts.forEach(post -> entries[size++] = post);
+        }
+
+        private synchronized Optional<List<PostSummaryDto>> page(PostCursor cursor, int pageSize) {
+            int from = 0;
+
+            if (cursor != null) {
+                while (from < size && !isBefore(get(from), cursor)) {
+                    from++;
+                }
+            }
+
+            if (from + pageSize > size && !complete) {
+                return Optional.empty();
+            }
+
+            List<PostSummaryDto> page = new ArrayList<>(pageSize);
+
+            for (int i = from; i < Math.min(from + pageSize, size); i++) {
+                page.add(get(i));
+            }
+
+            return Optional.of(page);
+        }
+
+        private synchronized void upsert(PostSummaryDto post) {
+            remove(post.getId());
+            int index = 0;
+
+            while (index < size && NEWEST_FIRST.compare(get(index), post) < 0) {
+                index++;
+            }
+
+            // older than everything held while posts in between are not known
+            if (index == size && !complete) {
+                return;
+            }
+
+            if (index == entries.length) {
+                complete = false;
+                return;
+            }
+
+            if (size == entries.length) {
+                size--;
+                complete = false;
+            }
+
+            // open a slot at index by moving the newer entries one step towards the front
+            head = Math.floorMod(head - 1, entries.length);
+
+            for (int i = 0; i < index; i++) {
+                set(i, get(i + 1));
+            }
+
+            set(index, post);
+            size++;
+        }
+
+        private synchronized void remove(Long id) {
+            for (int i = 0; i < size; i++) {
+                if (get(i).getId().equals(id)) {
+                    for (int j = i; j < size - 1; j++) {
+                        set(j, get(j + 1));
+                    }
+
+                    set(--size, null);
+                    return;
+                }
+            }
+        }
+
+        // re-weighed whenever onSave or onRemove writes the feed back
+        private synchronized int weight() {
+            return Math.max(1, size);
+        }
+
+        private PostSummaryDto get(int index) {
+            return entries[(head + index) % entries.length];
+        }
+
+        private void set(int index, PostSummaryDto post) {
+            entries[(head + index) % entries.length] = post;
+        }
+
+        private static boolean isBefore(PostSummaryDto post, PostCursor cursor) {
+            int compared = post.getCreated_at().compareTo(cursor.getCreatedAt());
+            return compared < 0 || (compared == 0 && post.getId() < cursor.getId());
+        }
+    }
+
+    // updates keep the remaining lifetime, so a feed is reloaded from the database at least once per expireAfterWrite
+    private static class LoadTimeExpiry implements Expiry<String, UserFeed> {
+        private final long expireAfterWriteNanos;
+
+        private LoadTimeExpiry(Duration expireAfterWrite) {
+            this.expireAfterWriteNanos = expireAfterWrite.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String username, UserFeed feed, long currentTime) {
+            return expireAfterWriteNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String username, UserFeed feed, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String username, UserFeed feed, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
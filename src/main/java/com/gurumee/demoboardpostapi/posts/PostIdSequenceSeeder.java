@@ -0,0 +1,65 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/*
+ * On MySQL post_id_seq is a table that Hibernate creates with next_val 1 next to posts whose ids came from
+ * AUTO_INCREMENT. Before anything is written, this moves next_val my-app.post-id-seq-margin past the highest
+ * id in post and post_archive whenever it is not already past it. The margin leaves room for the ids an
+ * instance still on AUTO_INCREMENT hands out during a blue/green switch. Databases with real sequences
+ * have no such table and are left alone.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class PostIdSequenceSeeder implements ApplicationRunner {
+    private final AppProperties appProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // the post repository is only there to have the schema created before the table is read
+    public PostIdSequenceSeeder(AppProperties appProperties, JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager, PostRepository postRepository) {
+        this.appProperties = appProperties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> seed());
+        } catch (BadSqlGrammarException e) {
+            log.debug("post_id_seq is not a table, nothing to seed: {}", e.getMessage());
+        }
+    }
+
+    // the row lock keeps two instances starting together from reading the same next_val
+    private void seed() {
+        Long nextVal = jdbcTemplate.queryForList("select next_val from post_id_seq for update", Long.class).stream()
+                .findFirst()
+                .orElse(null);
+        long maxId = jdbcTemplate.queryForObject(
+                "select greatest((select coalesce(max(id), 0) from post), (select coalesce(max(id), 0) from post_archive))",
+                Long.class);
+
+        if (nextVal != null && nextVal > maxId) {
+            return;
+        }
+
+        long seeded = maxId + appProperties.getPostIdSeqMargin();
+        jdbcTemplate.update("delete from post_id_seq");
+        jdbcTemplate.update("insert into post_id_seq (next_val) values (?)", seeded);
+        log.warn("post_id_seq was at {} behind the highest post id {}, moved to {}.", nextVal, maxId, seeded);
+    }
+}
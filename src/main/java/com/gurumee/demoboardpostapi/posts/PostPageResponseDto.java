@@ -0,0 +1,13 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import lombok.*;
+
+import java.util.List;
+
+@NoArgsConstructor @AllArgsConstructor
+@Getter @Setter @ToString @EqualsAndHashCode
+@Builder
+public class PostPageResponseDto {
+    private List<PostSummaryDto> posts;
+    private String next_cursor;
+}
@@ -1,14 +1,153 @@
 package com.gurumee.demoboardpostapi.posts;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import static org.hibernate.jpa.QueryHints.*;
+
+// queries run in read-only transactions so that they can be served by a read replica
 @Repository
+@Transactional(readOnly = true)
 public interface PostRepository extends JpaRepository<Post, Long> {
-    List<Post> findAllByOrderByCreatedAtDesc();
-    List<Post> findByOwnerNameOrderByCreatedAtDesc(@Param("username") String username);
-    List<Post> findByTitleContainingOrContentContainingOrderByCreatedAtDesc(String title, String content);
+    // with useCursorFetch=true on the MySQL url, rows arrive from a server-side cursor in batches of this size
+    String EXPORT_FETCH_SIZE = "1000";
+
+    // rows written before the preview column existed hold plain content, so the substring is still valid for them
+    String SELECT_SUMMARY = "select new com.gurumee.demoboardpostapi.posts.PostSummaryDto(" +
+            "p.id, p.title, coalesce(p.preview, substring(p.content, 1, " + PostSummaryDto.PREVIEW_LENGTH + ")), " +
+            "p.ownerName, p.createdAt, p.updatedAt, p.version) " +
+            "from Post p ";
+
+    @Query(SELECT_SUMMARY +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummaryDto> findSummaries(Pageable pageable);
+
+    @Query(SELECT_SUMMARY +
+            "where p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id) " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummaryDto> findSummariesBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_SUMMARY +
+            "where p.ownerName = :username " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummaryDto> findSummariesByOwnerName(@Param("username") String username, Pageable pageable);
+
+    @Query(SELECT_SUMMARY +
+            "where p.ownerName = :username " +
+            "and (p.createdAt < :createdAt or (p.createdAt = :createdAt and p.id < :id)) " +
+            "order by p.createdAt desc, p.id desc")
+    List<PostSummaryDto> findSummariesByOwnerNameBefore(@Param("username") String username,
+                                                        @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                                        Pageable pageable);
+
+    @Query(SELECT_SUMMARY +
+            "where p.id in :ids")
+    List<PostSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // the full view of a list page; content goes through the converter like an entity read
+    @Query("select new com.gurumee.demoboardpostapi.posts.PostSummaryDto(" +
+            "p.id, p.title, p.content, p.ownerName, p.createdAt, p.updatedAt, p.version) " +
+            "from Post p where p.id in :ids")
+    List<PostSummaryDto> findFullByIdIn(@Param("ids") Collection<Long> ids);
+
+    // content is lazy, so reads that hand out the body fetch it in the same select
+    @Query("select p from Post p fetch all properties where p.id = :id")
+    Optional<Post> findWithContentById(@Param("id") Long id);
+
+    @Query("select p from Post p fetch all properties where p.id in :ids")
+    List<Post> findAllWithContentByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p from Post p fetch all properties order by p.id")
+    Stream<Post> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p from Post p fetch all properties where p.ownerName = :username order by p.id")
+    Stream<Post> streamByOwnerName(@Param("username") String username);
+
+    // posts written since the search index checkpoint; the range is served by idx_post_updated_at
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p from Post p fetch all properties where p.updatedAt >= :since order by p.id")
+    Stream<Post> streamUpdatedSince(@Param("since") LocalDateTime since);
+
+    // conditional single-statement writes; they bypass entity callbacks, so callers notify PostChangeNotifier
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("update Post p set p.title = :title, p.content = :content, p.preview = :preview, p.updatedAt = :updatedAt, p.version = p.version + 1 " +
+            "where p.id = :id and p.ownerName = :ownerName and p.deletedAt is null")
+    int updateByIdAndOwnerName(@Param("id") Long id, @Param("ownerName") String ownerName,
+                               @Param("title") String title, @Param("content") String content,
+                               @Param("preview") String preview, @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("update Post p set p.title = :title, p.content = :content, p.preview = :preview, p.updatedAt = :updatedAt, p.version = p.version + 1 " +
+            "where p.id = :id and p.ownerName = :ownerName and p.version in :versions and p.deletedAt is null")
+    int updateByIdAndOwnerNameAndVersionIn(@Param("id") Long id, @Param("ownerName") String ownerName,
+                                           @Param("versions") Collection<Long> versions,
+                                           @Param("title") String title, @Param("content") String content,
+                                           @Param("preview") String preview, @Param("updatedAt") LocalDateTime updatedAt);
+
+    // deletes only mark the row; PostArchiver removes it later
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("update Post p set p.deletedAt = :deletedAt, p.version = p.version + 1 " +
+            "where p.id = :id and p.ownerName = :ownerName and p.deletedAt is null")
+    int deleteByIdAndOwnerName(@Param("id") Long id, @Param("ownerName") String ownerName,
+                               @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("update Post p set p.deletedAt = :deletedAt, p.version = p.version + 1 " +
+            "where p.id = :id and p.ownerName = :ownerName and p.version in :versions and p.deletedAt is null")
+    int deleteByIdAndOwnerNameAndVersionIn(@Param("id") Long id, @Param("ownerName") String ownerName,
+                                           @Param("versions") Collection<Long> versions,
+                                           @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("update Post p set p.deletedAt = :deletedAt, p.version = p.version + 1 " +
+            "where p.id in :ids and p.deletedAt is null")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // cold posts for the archive job; the range is served by idx_post_created_at_id
+    @Query("select p from Post p where p.createdAt < :before and p.updatedAt < :before order by p.createdAt, p.id")
+    List<Post> findNotUpdatedSince(@Param("before") LocalDateTime before, Pageable pageable);
+
+    // the archive job reads and removes rows behind the @Where filter, so these are native
+    @Query(value = "select id from post where deleted_at < :before order by id limit :limit", nativeQuery = true)
+    List<Long> findIdsDeletedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Query(value = "select id from post where deleted_at >= :since", nativeQuery = true)
+    List<Long> findIdsDeletedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query(value = "delete from post where id in :ids", nativeQuery = true)
+    int purgeByIdIn(@Param("ids") Collection<Long> ids);
 }
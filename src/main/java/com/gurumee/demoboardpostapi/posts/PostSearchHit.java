@@ -0,0 +1,39 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+@AllArgsConstructor
+@Getter @ToString @EqualsAndHashCode
+public class PostSearchHit {
+    private static final String DELIMITER = "_";
+
+    private final float score;
+    private final Long id;
+
+    // the score is kept as raw float bits so that the cursor resumes at exactly the same position
+    public String encode() {
+        String raw = Integer.toHexString(Float.floatToIntBits(score)) + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Optional<PostSearchHit> decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.indexOf(DELIMITER);
+
+            if (index < 0) {
+                return Optional.empty();
+            }
+
+            float score = Float.intBitsToFloat(Integer.parseUnsignedInt(raw.substring(0, index), 16));
+            Long id = Long.valueOf(raw.substring(index + 1));
+            return Optional.of(new PostSearchHit(score, id));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
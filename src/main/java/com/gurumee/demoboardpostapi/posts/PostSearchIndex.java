@@ -0,0 +1,179 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import lombok.RequiredArgsConstructor;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@RequiredArgsConstructor
+public class PostSearchIndex {
+    private static final String ID = "id";
+    private static final String ID_SORT = "id_sort";
+    private static final String TITLE = "title";
+    private static final String CONTENT = "content";
+    // commit user data: every post updated before this instant is in the committed index
+    private static final String CHECKPOINT = "updated_at";
+    private static final Sort RELEVANCE = new Sort(SortField.FIELD_SCORE, new SortField(ID_SORT, SortField.Type.LONG, true));
+
+    private final AppProperties appProperties;
+
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private LocalDateTime checkpoint;
+    private final AtomicBoolean stale = new AtomicBoolean(false);
+
+    @PostConstruct
+    public void open() throws IOException {
+        String indexPath = appProperties.getSearchIndexPath();
+
+        if (indexPath == null || indexPath.isBlank()) {
+            directory = new ByteBuffersDirectory();
+        } else {
+            Path path = Paths.get(indexPath);
+            Files.createDirectories(path);
+            directory = FSDirectory.open(path);
+        }
+
+        if (DirectoryReader.indexExists(directory)) {
+            String value = SegmentInfos.readLatestCommit(directory).getUserData().get(CHECKPOINT);
+            checkpoint = value == null ? null : LocalDateTime.parse(value);
+        }
+
+        Analyzer analyzer = new KoreanAnalyzer();
+        indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        searcherManager = new SearcherManager(indexWriter, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.commit();
+        indexWriter.close();
+        directory.close();
+    }
+
+    public void index(Post post) {
+        Document document = new Document();
+        String id = String.valueOf(post.getId());
+        document.add(new StringField(ID, id, Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_SORT, post.getId()));
+        document.add(new TextField(TITLE, post.getTitle(), Field.Store.NO));
+
+        if (post.getContent() != null) {
+            document.add(new TextField(CONTENT, post.getContent(), Field.Store.NO));
+        }
+
+        try {
+            indexWriter.updateDocument(new Term(ID, id), document);
+            stale.set(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void remove(Long id) {
+        try {
+            indexWriter.deleteDocuments(new Term(ID, String.valueOf(id)));
+            stale.set(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void clear() {
+        try {
+            indexWriter.deleteAll();
+            stale.set(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // empty when there is no committed index to catch up from
+    public Optional<LocalDateTime> checkpoint() {
+        return Optional.ofNullable(checkpoint);
+    }
+
+    public synchronized void commit(LocalDateTime checkpoint) throws IOException {
+        indexWriter.setLiveCommitData(Map.of(CHECKPOINT, checkpoint.toString()).entrySet());
+        indexWriter.commit();
+        this.checkpoint = checkpoint;
+    }
+
+    // hits are ranked by relevance, ties broken by newest id; after is the last hit of the previous page
+    public List<PostSearchHit> search(String keyword, PostSearchHit after, int size) throws IOException {
+        Query query;
+
+        try {
+            MultiFieldQueryParser parser = new MultiFieldQueryParser(new String[]{TITLE, CONTENT},
+                    indexWriter.getAnalyzer(), Map.of(TITLE, 2.0f, CONTENT, 1.0f));
+            parser.setDefaultOperator(QueryParser.Operator.AND);
+            query = parser.parse(QueryParser.escape(keyword));
+        } catch (ParseException e) {
+            return Collections.emptyList();
+        }
+
+        if (stale.compareAndSet(true, false)) {
+            searcherManager.maybeRefreshBlocking();
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+
+        try {
+            TopFieldDocs topDocs;
+
+            if (after == null) {
+                topDocs = searcher.search(query, size, RELEVANCE, true);
+            } else if (searcher.getIndexReader().maxDoc() == 0) {
+                return Collections.emptyList();
+            } else {
+                // ids are unique, so the doc id tie-breaker never decides and only has to be in range
+                int lastDoc = searcher.getIndexReader().maxDoc() - 1;
+                FieldDoc afterDoc = new FieldDoc(lastDoc, after.getScore(), new Object[]{after.getScore(), after.getId()});
+                topDocs = searcher.searchAfter(afterDoc, query, size, RELEVANCE, true);
+            }
+
+            List<PostSearchHit> hits = new ArrayList<>(topDocs.scoreDocs.length);
+
+            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                FieldDoc fieldDoc = (FieldDoc) scoreDoc;
+                hits.add(new PostSearchHit((Float) fieldDoc.fields[0], (Long) fieldDoc.fields[1]));
+            }
+
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ * Keeps the on-disk search index in step with the table. A start reuses the committed index and only
+ * reads posts written since its checkpoint; the full rebuild runs when there is no index yet or when
+ * my-app.search-index-rebuild-on-startup forces it. The same catch-up then runs every
+ * my-app.search-index-refresh-interval, which commits the index and picks up writes made through other
+ * instances, so those are missing from search for at most one interval.
+ */
+// ahead of the warm-up, so its search requests run against the caught-up index
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@Slf4j
+public class PostSearchIndexInitializer implements ApplicationRunner {
+    // covers transactions that commit after a catch-up has read past them and clock skew between instances
+    private static final Duration CHECKPOINT_OVERLAP = Duration.ofMinutes(1);
+
+    private final AppProperties appProperties;
+    private final PostRepository postRepository;
+    private final PostSearchIndex postSearchIndex;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService scheduler;
+
+    public PostSearchIndexInitializer(AppProperties appProperties, PostRepository postRepository,
+                                      PostSearchIndex postSearchIndex, PlatformTransactionManager transactionManager,
+                                      EntityManager entityManager) {
+        this.appProperties = appProperties;
+        this.postRepository = postRepository;
+        this.postSearchIndex = postSearchIndex;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "post-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Optional<LocalDateTime> checkpoint = postSearchIndex.checkpoint();
+
+        if (checkpoint.isEmpty() || appProperties.isSearchIndexRebuildOnStartup()) {
+            LocalDateTime start = LocalDateTime.now();
+            long count = transactionTemplate.execute(status -> rebuild());
+            postSearchIndex.commit(start);
+            log.info("Search index rebuilt with {} posts.", count);
+        } else {
+            long count = catchUp(checkpoint.get());
+            log.info("Search index caught up with {} posts written since {}.", count, checkpoint.get());
+        }
+
+        long interval = appProperties.getSearchIndexRefreshInterval().toMillis();
+
+        if (interval > 0) {
+            scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    // a failed round is retried from the same checkpoint on the next one
+    void refresh() {
+        try {
+            postSearchIndex.checkpoint().ifPresent(this::catchUp);
+        } catch (RuntimeException e) {
+            log.error("Search index refresh failed.", e);
+        }
+    }
+
+    private long catchUp(LocalDateTime checkpoint) {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime since = checkpoint.minus(CHECKPOINT_OVERLAP);
+        long count = transactionTemplate.execute(status -> {
+            postRepository.findIdsDeletedSince(since).forEach(postSearchIndex::remove);
+
+            try (Stream<Post> posts = postRepository.streamUpdatedSince(since)) {
+                return index(posts);
+            }
+        });
+
+        try {
+            postSearchIndex.commit(start);
+        } catch (IOException e) {
+            throw new IllegalStateException("Search index commit failed.", e);
+        }
+
+        return count;
+    }
+
+    // the same forward-only stream as the export, detaching each entity once it is indexed
+    private long rebuild() {
+        postSearchIndex.clear();
+
+        try (Stream<Post> posts = postRepository.streamAll()) {
+            return index(posts);
+        }
+    }
+
+    private long index(Stream<Post> posts) {
+        long count = 0;
+        Iterator<Post> iterator = posts.iterator();
+
+        while (iterator.hasNext()) {
+            Post post = iterator.next();
+            postSearchIndex.index(post);
+            entityManager.detach(post);
+            count++;
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,31 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// read-only list view built straight from a JPQL constructor expression; content holds at most PREVIEW_LENGTH characters
+// unless the full view was requested
+@NoArgsConstructor @AllArgsConstructor
+@Getter @Setter @ToString @EqualsAndHashCode(of = "id")
+@Builder
+public class PostSummaryDto {
+    public static final int PREVIEW_LENGTH = 200;
+
+    private Long id;
+    private String title;
+    private String content;
+    private String owner_name;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime created_at;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updated_at;
+
+    // only exposed through the ETag header
+    @JsonIgnore
+    private Long version;
+}
@@ -0,0 +1,18 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import java.util.Optional;
+
+// how much of each post a list response carries; summaries hold the preview, full views the whole content
+public enum PostView {
+    SUMMARY, FULL;
+
+    public static Optional<PostView> decode(String view) {
+        for (PostView value : values()) {
+            if (value.name().equalsIgnoreCase(view)) {
+                return Optional.of(value);
+            }
+        }
+
+        return Optional.empty();
+    }
+}
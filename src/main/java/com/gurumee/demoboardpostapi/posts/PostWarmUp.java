@@ -0,0 +1,149 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+ * Runs before the application reports ready: Boot only switches readiness to ACCEPTING_TRAFFIC after
+ * every ApplicationRunner has returned. Opens the connection pool, then replays the read requests of
+ * PostController over loopback, which JIT-compiles the request path and loads the newest posts into
+ * the post cache. A failing step is logged and never fails the start.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+@RequiredArgsConstructor
+public class PostWarmUp implements ApplicationRunner {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(5);
+
+    private final AppProperties appProperties;
+    private final ApplicationContext applicationContext;
+    private final DataSource dataSource;
+    private final PostRepository postRepository;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        long deadline = start + appProperties.getWarmUpTimeout().toNanos();
+
+        primeConnectionPool();
+
+        if (!(applicationContext instanceof WebServerApplicationContext)
+                || appProperties.getWarmUpIterations() <= 0) {
+            return;
+        }
+
+        int port = ((WebServerApplicationContext) applicationContext).getWebServer().getPort();
+        List<URI> uris;
+
+        try {
+            uris = warmUpUris(port);
+        } catch (DataAccessException e) {
+            log.warn("Warm-up could not load the hot posts: {}", e.getMessage());
+            return;
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        int requests = 0;
+        int failures = 0;
+
+        for (int i = 0; i < appProperties.getWarmUpIterations() && System.nanoTime() < deadline; i++) {
+            for (URI uri : uris) {
+                requests++;
+
+                if (!replay(client, uri)) {
+                    failures++;
+                }
+            }
+        }
+
+        log.info("Warm-up replayed {} requests ({} failed) in {} ms.", requests, failures,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    // holding the connections together makes the pool open them now instead of on the first requests
+    private void primeConnectionPool() {
+        List<Connection> connections = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < appProperties.getWarmUpConnections(); i++) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid((int) REQUEST_TIMEOUT.toSeconds());
+            }
+        } catch (SQLException e) {
+            log.warn("Warm-up could not prime the connection pool: {}", e.getMessage());
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    log.warn("Warm-up could not close a connection: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    // the newest posts are the hot ones, so their single-post requests also fill the post cache
+    private List<URI> warmUpUris(int port) {
+        String base = "http://127.0.0.1:" + port + "/api/posts";
+        List<PostSummaryDto> hotPosts = postRepository.findSummaries(PageRequest.of(0, appProperties.getWarmUpPosts()));
+        List<URI> uris = new ArrayList<>();
+        uris.add(URI.create(base));
+        uris.add(URI.create(base + "?view=full"));
+
+        if (!hotPosts.isEmpty()) {
+            String keyword = hotPosts.get(0).getTitle().trim().split("\\s+")[0];
+            uris.add(URI.create(base + "/search?keyword=" + URLEncoder.encode(keyword, StandardCharsets.UTF_8)));
+        }
+
+        uris.addAll(hotPosts.stream()
+                .map(post -> URI.create(base + "/" + post.getId()))
+                .collect(Collectors.toList()));
+        return uris;
+    }
+
+    private static boolean replay(HttpClient client, URI uri) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .GET()
+                .build();
+
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() < 500;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
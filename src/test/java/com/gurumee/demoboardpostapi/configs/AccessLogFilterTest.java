@@ -0,0 +1,126 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.gurumee.demoboardpostapi.configs.oauth.OAuthHelper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.message.ObjectMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the filters run in their registered order, as in the servlet container
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AccessLogFilterTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OAuthHelper helper;
+
+    private final BlockingQueue<Map<?, ?>> events = new LinkedBlockingQueue<>();
+    private AbstractAppender appender;
+
+    @BeforeEach
+    public void setUp() {
+        appender = new AbstractAppender("capture", null, null, true, Property.EMPTY_ARRAY) {
+            @Override
+            public void append(LogEvent event) {
+                events.add((Map<?, ?>) ((ObjectMessage) event.getMessage()).getParameter());
+            }
+        };
+        appender.start();
+        accessLoggerConfig().addAppender(appender, null, null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        accessLoggerConfig().removeAppender(appender.getName());
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("access log event 에 요청, 응답, 지연 시간, user 포함")
+    public void accessEventTest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.setQueryString("limit=10");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(HttpHeaders.USER_AGENT, "curl/7.64.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(304);
+
+        Map<String, Object> event = AccessLogFilter.accessEvent(request, response, "test_user", TimeUnit.MICROSECONDS.toNanos(12345));
+
+        assertEquals("GET", event.get("method"));
+        assertEquals("/api/posts", event.get("uri"));
+        assertEquals("limit=10", event.get("query"));
+        assertEquals(304, event.get("status"));
+        assertEquals(12.345, event.get("latency_ms"));
+        assertEquals("test_user", event.get("user"));
+        assertEquals("10.0.0.1", event.get("remote_ip"));
+        assertEquals("curl/7.64.1", event.get("user_agent"));
+    }
+
+    @Test
+    @DisplayName("security 가 거절한 요청도 access log 에 남고, 거절된 user 도 기록")
+    public void rejectedRequestTest() throws Exception {
+        mockMvc.perform(post("/api/posts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isUnauthorized());
+
+        Map<?, ?> unauthorized = nextEvent();
+        assertEquals("POST", unauthorized.get("method"));
+        assertEquals("/api/posts", unauthorized.get("uri"));
+        assertEquals(401, unauthorized.get("status"));
+        assertNull(unauthorized.get("user"));
+
+        mockMvc.perform(get("/api/posts/export")
+                .with(helper.bearerToken("", Set.of("read", "write"))))
+                .andExpect(status().isForbidden());
+
+        Map<?, ?> forbidden = nextEvent();
+        assertEquals(403, forbidden.get("status"));
+        assertEquals("test_user", forbidden.get("user"));
+    }
+
+    // events reach the appender on the asynchronous logger thread
+    private Map<?, ?> nextEvent() throws InterruptedException {
+        Map<?, ?> event = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull(event);
+        return event;
+    }
+
+    private static LoggerConfig accessLoggerConfig() {
+        LoggerContext context = (LoggerContext) LogManager.getContext(false);
+        return context.getConfiguration().getLoggerConfig("access");
+    }
+}
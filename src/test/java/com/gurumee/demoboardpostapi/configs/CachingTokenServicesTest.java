@@ -0,0 +1,94 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.RemoteTokenServices;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class CachingTokenServicesTest {
+    private final static String CHECK_TOKEN_URL = "http://localhost:8080/oauth/check_token";
+
+    private MockRestServiceServer authServer;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingTokenServices tokenServices;
+
+    @BeforeEach
+    public void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        authServer = MockRestServiceServer.bindTo(restTemplate).build();
+
+        RemoteTokenServices remoteTokenServices = new RemoteTokenServices();
+        remoteTokenServices.setCheckTokenEndpointUrl(CHECK_TOKEN_URL);
+        remoteTokenServices.setClientId("client");
+        remoteTokenServices.setClientSecret("password");
+        remoteTokenServices.setRestTemplate(restTemplate);
+        remoteTokenServices.setAccessTokenConverter(new ExpirationAwareAccessTokenConverter());
+
+        meterRegistry = new SimpleMeterRegistry();
+        tokenServices = new CachingTokenServices(remoteTokenServices, 100, Duration.ofMinutes(5), meterRegistry);
+    }
+
+    private String checkTokenResponse(Instant expiration) {
+        return "{\"active\": true, \"exp\": " + expiration.getEpochSecond() + ", \"user_name\": \"test_user\", " +
+                "\"client_id\": \"client\", \"scope\": [\"read\", \"write\"]}";
+    }
+
+    @Test
+    @DisplayName("check_token 결과 캐시 test")
+    public void loadAuthenticationTest_cached() {
+        authServer.expect(ExpectedCount.once(), requestTo(CHECK_TOKEN_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(checkTokenResponse(Instant.now().plusSeconds(60)), MediaType.APPLICATION_JSON));
+
+        OAuth2Authentication first = tokenServices.loadAuthentication("token");
+        OAuth2Authentication second = tokenServices.loadAuthentication("token");
+
+        authServer.verify();
+        assertEquals("test_user", first.getName());
+        assertEquals("test_user", second.getName());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("check_token 결과 캐시 test: 만료된 token은 캐시하지 않음")
+    public void loadAuthenticationTest_expired() {
+        authServer.expect(ExpectedCount.twice(), requestTo(CHECK_TOKEN_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess(checkTokenResponse(Instant.now().minusSeconds(1)), MediaType.APPLICATION_JSON));
+
+        tokenServices.loadAuthentication("token");
+        tokenServices.loadAuthentication("token");
+
+        authServer.verify();
+    }
+
+    @Test
+    @DisplayName("check_token 결과 캐시 test 실패: 잘못된 token")
+    public void loadAuthenticationTestFailed_invalid_token() {
+        authServer.expect(ExpectedCount.twice(), requestTo(CHECK_TOKEN_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{\"active\": false}", MediaType.APPLICATION_JSON));
+
+        assertThrows(InvalidTokenException.class, () -> tokenServices.loadAuthentication("fakeAccessToken"));
+        assertThrows(InvalidTokenException.class, () -> tokenServices.loadAuthentication("fakeAccessToken"));
+
+        authServer.verify();
+    }
+}
@@ -0,0 +1,119 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.RsaSigner;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class JwtTokenServicesTest {
+    private final static String JWK_SET_URL = "http://localhost:8080/.well-known/jwks.json";
+    private final static String KEY_ID = "test-key";
+
+    private KeyPair keyPair;
+    private JwtTokenServices tokenServices;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        keyPair = generateKeyPair();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        String jwkSet = "{\"keys\": [{\"kty\": \"RSA\", \"kid\": \"" + KEY_ID + "\", \"alg\": \"RS256\", " +
+                "\"n\": \"" + base64Url(publicKey.getModulus()) + "\", " +
+                "\"e\": \"" + base64Url(publicKey.getPublicExponent()) + "\"}]}";
+
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer authServer = MockRestServiceServer.bindTo(restTemplate).build();
+        authServer.expect(requestTo(JWK_SET_URL)).andRespond(withSuccess(jwkSet, MediaType.APPLICATION_JSON));
+
+        JwkSetVerifiers verifiers = new JwkSetVerifiers(JWK_SET_URL, Duration.ofMinutes(10), restTemplate);
+        verifiers.refresh();
+        tokenServices = new JwtTokenServices(verifiers);
+    }
+
+    private KeyPair generateKeyPair() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        return generator.generateKeyPair();
+    }
+
+    private String createToken(KeyPair signingKeyPair, Instant expiration) {
+        return createToken(signingKeyPair, "\"exp\": " + expiration.getEpochSecond() + ", ");
+    }
+
+    private String createToken(KeyPair signingKeyPair, String expClaim) {
+        String claims = "{" + expClaim + "\"user_name\": \"test_user\", " +
+                "\"client_id\": \"client\", \"scope\": [\"read\", \"write\"]}";
+        return JwtHelper.encode(claims, new RsaSigner((RSAPrivateKey) signingKeyPair.getPrivate()), Map.of("kid", KEY_ID))
+                .getEncoded();
+    }
+
+    private String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    @Test
+    @DisplayName("JWT 로컬 검증 test")
+    public void loadAuthenticationTest() {
+        OAuth2Authentication authentication = tokenServices.loadAuthentication(createToken(keyPair, Instant.now().plusSeconds(60)));
+
+        assertEquals("test_user", authentication.getName());
+        assertEquals("client", authentication.getOAuth2Request().getClientId());
+    }
+
+    @Test
+    @DisplayName("JWT 로컬 검증 test 실패: 다른 key로 서명된 token")
+    public void loadAuthenticationTestFailed_invalid_signature() throws Exception {
+        String token = createToken(generateKeyPair(), Instant.now().plusSeconds(60));
+
+        assertThrows(InvalidTokenException.class, () -> tokenServices.loadAuthentication(token));
+    }
+
+    @Test
+    @DisplayName("JWT 로컬 검증 test 실패: 만료된 token")
+    public void loadAuthenticationTestFailed_expired() {
+        String token = createToken(keyPair, Instant.now().minusSeconds(1));
+
+        assertThrows(InvalidTokenException.class, () -> tokenServices.loadAuthentication(token));
+    }
+
+    @Test
+    @DisplayName("JWT 로컬 검증 test 실패: exp 가 없는 token")
+    public void loadAuthenticationTestFailed_no_expiration() {
+        String token = createToken(keyPair, "");
+
+        assertThrows(InvalidTokenException.class, () -> tokenServices.loadAuthentication(token));
+    }
+
+    @Test
+    @DisplayName("JWT 로컬 검증 test 실패: JWT 형식이 아닌 token")
+    public void loadAuthenticationTestFailed_malformed() {
+        assertThrows(InvalidTokenException.class, () -> tokenServices.loadAuthentication("fakeAccessToken"));
+    }
+}
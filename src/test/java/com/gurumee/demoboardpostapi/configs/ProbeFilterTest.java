@@ -0,0 +1,52 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProbeFilterTest {
+    @Test
+    @DisplayName("liveness 는 시작 직후, readiness 는 warm-up 이 끝난 뒤 200, 그 외 요청은 통과")
+    public void probeTest() throws Exception {
+        ApplicationAvailabilityBean availability = new ApplicationAvailabilityBean();
+        ProbeFilter filter = new ProbeFilter(availability);
+        StaticApplicationContext context = new StaticApplicationContext();
+        availability.onApplicationEvent(new AvailabilityChangeEvent<>(context, LivenessState.CORRECT));
+
+        MockHttpServletResponse liveness = probe(filter, ProbeFilter.LIVENESS_PATH);
+        assertEquals(200, liveness.getStatus());
+        assertEquals("UP", liveness.getContentAsString());
+
+        MockHttpServletResponse readiness = probe(filter, ProbeFilter.READINESS_PATH);
+        assertEquals(503, readiness.getStatus());
+        assertEquals("DOWN", readiness.getContentAsString());
+
+        availability.onApplicationEvent(new AvailabilityChangeEvent<>(context, ReadinessState.ACCEPTING_TRAFFIC));
+        assertEquals(200, probe(filter, ProbeFilter.READINESS_PATH).getStatus());
+
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"), new MockHttpServletResponse(), chain);
+        assertNotNull(chain.getRequest());
+
+        MockFilterChain probeChain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("GET", ProbeFilter.READINESS_PATH), new MockHttpServletResponse(), probeChain);
+        assertNull(probeChain.getRequest());
+    }
+
+    private static MockHttpServletResponse probe(ProbeFilter filter, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", path), response, new MockFilterChain());
+        return response;
+    }
+}
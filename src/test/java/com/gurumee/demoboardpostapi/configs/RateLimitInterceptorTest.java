@@ -0,0 +1,127 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTest {
+    private ApplicationAvailabilityBean availability;
+    private RateLimitInterceptor interceptor;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        AppProperties appProperties = AppProperties.builder()
+                .rateLimitPeriod(Duration.ofMinutes(1))
+                .rateLimitReadCapacity(3)
+                .rateLimitWriteCapacity(5)
+                .rateLimitEndpoints(List.of("POST /api/posts=2"))
+                .rateLimitMaximumKeys(100)
+                .build();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        availability = new ApplicationAvailabilityBean();
+        interceptor = new RateLimitInterceptor(appProperties,
+                new LocalRateLimitStore(appProperties.getRateLimitMaximumKeys(), appProperties.getRateLimitPeriod(), meterRegistry),
+                availability, new ObjectMapper(), meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("anonymous 는 IP, 인증된 요청은 user 별로 endpoint 와 scope 마다 token 제한, 초과 시 429")
+    public void rateLimitTest() throws Exception {
+        MockHttpServletResponse beforeReady = handle("GET", "/api/posts", "10.0.0.1");
+        assertNull(beforeReady.getHeader(RateLimitInterceptor.RATE_LIMIT_LIMIT));
+        availability.onApplicationEvent(new AvailabilityChangeEvent<>(new StaticApplicationContext(), ReadinessState.ACCEPTING_TRAFFIC));
+
+        for (int i = 2; i >= 0; i--) {
+            MockHttpServletResponse response = handle("GET", "/api/posts", "10.0.0.1");
+            assertEquals(200, response.getStatus());
+            assertEquals("3", response.getHeader(RateLimitInterceptor.RATE_LIMIT_LIMIT));
+            assertEquals(String.valueOf(i), response.getHeader(RateLimitInterceptor.RATE_LIMIT_REMAINING));
+        }
+
+        MockHttpServletResponse limited = handle("GET", "/api/posts/1", "10.0.0.1");
+        assertEquals(429, limited.getStatus());
+        assertEquals("0", limited.getHeader(RateLimitInterceptor.RATE_LIMIT_REMAINING));
+        assertEquals("20", limited.getHeader("Retry-After"));
+        assertEquals("{\"message\":\"Too many requests.\"}", limited.getContentAsString());
+        assertEquals(200, handle("GET", "/api/posts", "10.0.0.2").getStatus());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("test_user", null, Collections.emptyList()));
+        assertEquals(200, handle("POST", "/api/posts", "10.0.0.1").getStatus());
+        assertEquals(200, handle("POST", "/api/posts", "10.0.0.2").getStatus());
+        assertEquals(429, handle("POST", "/api/posts", "10.0.0.3").getStatus());
+
+        MockHttpServletResponse write = handle("PUT", "/api/posts/1", "10.0.0.1");
+        assertEquals(200, write.getStatus());
+        assertEquals("5", write.getHeader(RateLimitInterceptor.RATE_LIMIT_LIMIT));
+    }
+
+    @Test
+    @DisplayName("동시에 꺼내도 bucket 용량만큼만 허용")
+    public void tokenBucketConcurrencyTest() throws Exception {
+        long now = System.nanoTime();
+        TokenBucket bucket = new TokenBucket(now);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++) {
+            futures.add(executor.submit(() -> {
+                for (int j = 0; j < 500; j++) {
+                    if (bucket.tryConsume(1000, TimeUnit.MINUTES.toNanos(1), now).isAllowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        executor.shutdown();
+        assertEquals(1000, allowed.get());
+        assertFalse(bucket.tryConsume(1000, TimeUnit.MINUTES.toNanos(1), now).isAllowed());
+        assertTrue(bucket.tryConsume(1000, TimeUnit.MINUTES.toNanos(1), now + TimeUnit.MILLISECONDS.toNanos(60)).isAllowed());
+    }
+
+    private MockHttpServletResponse handle(String method, String path, String remoteAddr) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        return response;
+    }
+}
@@ -0,0 +1,107 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+    private ReplicaRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readTemplate;
+    private TransactionTemplate writeTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), Duration.ofMinutes(1), Duration.ofMinutes(1));
+        setUp(routingDataSource);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        routingDataSource.stop();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("readOnly transaction은 replica, 나머지는 primary로")
+    public void routesByReadOnlyFlag() {
+        assertEquals("replica", readTemplate.execute(status -> whoAmI()));
+        assertEquals("primary", writeTemplate.execute(status -> whoAmI()));
+    }
+
+    @Test
+    @DisplayName("쓰기 직후 작성자는 primary에서 읽음")
+    public void readsOwnWritesFromPrimary() {
+        login("author");
+        writeTemplate.execute(status -> whoAmI());
+        assertEquals("primary", readTemplate.execute(status -> whoAmI()));
+
+        login("reader");
+        assertEquals("replica", readTemplate.execute(status -> whoAmI()));
+    }
+
+    @Test
+    @DisplayName("onPrimary 안의 읽기는 primary로, 읽은 사용자는 작성자로 남지 않음")
+    public void readsOnPrimary() {
+        login("reader");
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(() -> readTemplate.execute(status -> whoAmI())));
+        assertEquals("replica", readTemplate.execute(status -> whoAmI()));
+    }
+
+    @Test
+    @DisplayName("replica 장애 시 primary로 fallback")
+    public void fallsBackToPrimaryWhenReplicaIsDown() {
+        DriverManagerDataSource unavailable = new DriverManagerDataSource("jdbc:h2:mem:missing;IFEXISTS=TRUE", "sa", "");
+        routingDataSource.stop();
+        routingDataSource = new ReplicaRoutingDataSource(database("primary"), List.of(unavailable), Duration.ofMinutes(1), Duration.ofMinutes(1));
+        setUp(routingDataSource);
+
+        assertEquals("primary", readTemplate.execute(status -> whoAmI()));
+        routingDataSource.checkHealth();
+        assertEquals("primary", readTemplate.execute(status -> whoAmI()));
+    }
+
+    private void setUp(ReplicaRoutingDataSource routingDataSource) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readTemplate = new TransactionTemplate(transactionManager);
+        readTemplate.setReadOnly(true);
+        writeTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists node (name varchar(20))");
+        template.execute("delete from node");
+        template.update("insert into node values (?)", name);
+        return dataSource;
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private void login(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+    }
+}
@@ -0,0 +1,38 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.gurumee.demoboardpostapi.posts.PostRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RepositoryMetricsAspectTest {
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("repository 호출은 method 이름별로 기록")
+    public void recordsRepositoryInvocationByMethod() {
+        postRepository.findById(Long.MAX_VALUE);
+        postRepository.findById(Long.MAX_VALUE);
+
+        Timer timer = meterRegistry.find("spring.data.repository.invocations")
+                .tag("repository", "PostRepository")
+                .tag("method", "findById")
+                .tag("state", "SUCCESS")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+}
@@ -0,0 +1,46 @@
+package com.gurumee.demoboardpostapi.configs;
+
+import com.gurumee.demoboardpostapi.configs.oauth.OAuthHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ResourceServerConfigTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OAuthHelper helper;
+
+    @Test
+    @DisplayName("actuator 는 health 만 공개, metrics 와 prometheus 는 admin scope 필요")
+    public void actuatorTest() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+
+        for (String path : new String[] {"/actuator/prometheus", "/actuator/metrics"}) {
+            mockMvc.perform(get(path))
+                    .andExpect(status().isUnauthorized());
+            mockMvc.perform(get(path)
+                    .with(helper.bearerToken("", Set.of("read", "write"))))
+                    .andExpect(status().isForbidden());
+        }
+
+        // tests run without metrics export, so only the metrics endpoint is there to answer
+        mockMvc.perform(get("/actuator/metrics")
+                .with(helper.bearerToken("")))
+                .andExpect(status().isOk());
+    }
+}
@@ -30,19 +30,29 @@ public class OAuthHelper {
     private final AppProperties appProperties;
 
     public RequestPostProcessor bearerToken(String id) {
+        return bearerToken(id, null);
+    }
+
+    // scopes null means every scope of the client
+    public RequestPostProcessor bearerToken(String id, Set<String> scopes) {
         return mockRequest -> {
-            OAuth2AccessToken token = createAccessToken(id);
+            OAuth2AccessToken token = createAccessToken(id, scopes);
             mockRequest.addHeader("Authorization", "Bearer " + token.getValue());
             return mockRequest;
         };
     }
 
-    private OAuth2AccessToken createAccessToken(String id) {
+    // for requests sent over a real connection rather than through MockMvc
+    public String accessToken(String id) {
+        return createAccessToken(id, null).getValue();
+    }
+
+    private OAuth2AccessToken createAccessToken(String id, Set<String> requestedScopes) {
         String clientId = appProperties.getClientId();
         ClientDetails client = clientDetailsService.loadClientByClientId(clientId);
         Collection<GrantedAuthority> authorities = client.getAuthorities();
         Set<String> resourceIds = client.getResourceIds();
-        Set<String> scopes = client.getScope();
+        Set<String> scopes = requestedScopes == null ? client.getScope() : requestedScopes;
 
         Map<String, String> requestParameters = Collections.emptyMap();
         boolean approved = true;
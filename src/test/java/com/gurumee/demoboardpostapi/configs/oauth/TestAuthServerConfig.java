@@ -22,7 +22,7 @@ public class TestAuthServerConfig extends AuthorizationServerConfigurerAdapter {
                 .withClient(appProperties.getClientId())
                 .secret(passwordEncoder.encode(appProperties.getClientSecret()))
                 .authorizedGrantTypes("password")
-                .scopes("read", "write")
+                .scopes("read", "write", "admin")
         ;
     }
 }
@@ -0,0 +1,98 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import com.gurumee.demoboardpostapi.configs.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostAdmissionFilterTest {
+    @Test
+    @DisplayName("connection 대기가 budget 을 넘으면 503 + Retry-After, read 와 write 는 budget 이 따로")
+    public void admissionTest() throws Exception {
+        AppProperties appProperties = AppProperties.builder()
+                .admissionReadMaxWaiting(5)
+                .admissionWriteMaxWaiting(2)
+                .admissionRetryAfter(Duration.ofSeconds(3))
+                .build();
+        PostExecutor postExecutor = mock(PostExecutor.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PostAdmissionFilter filter = new PostAdmissionFilter(appProperties, postExecutor,
+                new StaticListableBeanFactory().getBeanProvider(HikariDataSource.class),
+                new StaticListableBeanFactory().getBeanProvider(ReplicaRoutingDataSource.class), new ObjectMapper(), meterRegistry);
+
+        when(postExecutor.queued()).thenReturn(1);
+        assertNotNull(admit(filter, "POST", "/api/posts").getRequest());
+
+        when(postExecutor.queued()).thenReturn(3);
+        assertNotNull(admit(filter, "GET", "/api/posts").getRequest());
+        assertNotNull(admit(filter, "POST", "/oauth/token").getRequest());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest("PUT", "/api/posts/1"), response, chain);
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("3", response.getHeader("Retry-After"));
+        assertEquals("{\"message\":\"Server is busy.\"}", response.getContentAsString());
+
+        when(postExecutor.queued()).thenReturn(5);
+        assertNull(admit(filter, "GET", "/api/posts").getRequest());
+        assertEquals(1.0, meterRegistry.get("post.admission.rejected").tag("type", "read").counter().count());
+        assertEquals(1.0, meterRegistry.get("post.admission.rejected").tag("type", "write").counter().count());
+        assertEquals(5.0, meterRegistry.get("post.admission.waiting").gauge().value());
+    }
+
+    @Test
+    @DisplayName("bean 이 아닌 replica pool 의 connection 대기도 센다")
+    public void replicaWaitingTest() throws Exception {
+        AppProperties appProperties = AppProperties.builder()
+                .admissionReadMaxWaiting(5)
+                .admissionWriteMaxWaiting(2)
+                .admissionRetryAfter(Duration.ofSeconds(3))
+                .build();
+        PostExecutor postExecutor = mock(PostExecutor.class);
+        HikariDataSource primary = hikariDataSource(1);
+        HikariDataSource replica = hikariDataSource(4);
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("primaryDataSource", primary);
+        beanFactory.addBean("replicaRoutingDataSource", new ReplicaRoutingDataSource(primary, List.of(replica),
+                Duration.ofSeconds(5), Duration.ofSeconds(5)));
+        PostAdmissionFilter filter = new PostAdmissionFilter(appProperties, postExecutor,
+                beanFactory.getBeanProvider(HikariDataSource.class),
+                beanFactory.getBeanProvider(ReplicaRoutingDataSource.class), new ObjectMapper(), new SimpleMeterRegistry());
+
+        assertEquals(5, filter.waiting());
+        assertNull(admit(filter, "GET", "/api/posts").getRequest());
+    }
+
+    private static HikariDataSource hikariDataSource(int threadsAwaitingConnection) {
+        HikariPoolMXBean pool = mock(HikariPoolMXBean.class);
+        when(pool.getThreadsAwaitingConnection()).thenReturn(threadsAwaitingConnection);
+        HikariDataSource dataSource = mock(HikariDataSource.class);
+        when(dataSource.getHikariPoolMXBean()).thenReturn(pool);
+        return dataSource;
+    }
+
+    private static MockFilterChain admit(PostAdmissionFilter filter, String method, String path) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest(method, path), new MockHttpServletResponse(), chain);
+        return chain;
+    }
+}
@@ -0,0 +1,46 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostContentCodecTest {
+    private final static int THRESHOLD = 1024;
+
+    @Test
+    @DisplayName("threshold 이상의 content 는 압축 저장, 읽을 때 복원")
+    public void encodeAndDecodeTest() {
+        String content = "게시판 본문 content ".repeat(200);
+
+        String stored = PostContentCodec.encode(content, THRESHOLD);
+
+        assertTrue(stored.startsWith(PostContentCodec.MARKER));
+        assertTrue(stored.length() < content.length());
+        assertEquals(content, PostContentCodec.decode(stored));
+    }
+
+    @Test
+    @DisplayName("짧은 content 와 압축 이전에 저장된 row 는 그대로")
+    public void plainContentTest() {
+        String content = "짧은 본문";
+
+        assertEquals(content, PostContentCodec.encode(content, THRESHOLD));
+        assertEquals(content, PostContentCodec.decode(content));
+        assertNull(PostContentCodec.encode(null, THRESHOLD));
+        assertNull(PostContentCodec.decode(null));
+    }
+
+    @Test
+    @DisplayName("marker 로 시작하는 content 는 짧아도 압축해서 구분")
+    public void markerContentTest() {
+        String content = PostContentCodec.MARKER + "abc";
+
+        String stored = PostContentCodec.encode(content, THRESHOLD);
+
+        assertTrue(stored.startsWith(PostContentCodec.MARKER));
+        assertEquals(content, PostContentCodec.decode(stored));
+    }
+}
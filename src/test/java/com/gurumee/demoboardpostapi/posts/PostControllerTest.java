@@ -13,19 +13,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -45,6 +55,24 @@ class PostControllerTest {
     @Autowired
     private PostRepository repository;
 
+    @Autowired
+    private PostArchiveRepository archiveRepository;
+
+    @Autowired
+    private PostArchiver archiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PostSearchIndexInitializer searchIndexInitializer;
+
+    @Autowired
+    private PostSearchIndex searchIndex;
+
+    @Autowired
+    private PostExporter exporter;
+
     private MockMvc mockMvc;
     private ObjectMapper objectMapper;
 
@@ -74,20 +102,20 @@ class PostControllerTest {
     @Test
     @DisplayName("GET /api/posts test")
     public void getPostListTest() throws Exception {
-        MvcResult mvcResult = mockMvc.perform(get("/api/posts")
+        MvcResult mvcResult = performAsync(get("/api/posts")
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").exists())
-                .andExpect(jsonPath("$[0].title").exists())
-                .andExpect(jsonPath("$[0].content").exists())
-                .andExpect(jsonPath("$[0].owner_name").exists())
-                .andExpect(jsonPath("$[0].created_at").exists())
-                .andExpect(jsonPath("$[0].updated_at").exists())
+                .andExpect(jsonPath("$.posts[0].id").exists())
+                .andExpect(jsonPath("$.posts[0].title").exists())
+                .andExpect(jsonPath("$.posts[0].content").exists())
+                .andExpect(jsonPath("$.posts[0].owner_name").exists())
+                .andExpect(jsonPath("$.posts[0].created_at").exists())
+                .andExpect(jsonPath("$.posts[0].updated_at").exists())
                 .andReturn();
         String res = mvcResult.getResponse().getContentAsString();
-        List<PostResponseDto> dtoList = objectMapper.readValue(res, objectMapper.getTypeFactory().constructCollectionType(List.class, PostResponseDto.class));
+        List<PostSummaryDto> dtoList = objectMapper.readValue(res, PostPageResponseDto.class).getPosts();
         assertEquals(5, dtoList.size());
 
         for (int i=0; i<5; i++) {
@@ -102,21 +130,21 @@ class PostControllerTest {
     @Test
     @DisplayName("GET /api/posts with access token test")
     public void getPostListWithAccessTokenTest() throws Exception {
-        MvcResult mvcResult = mockMvc.perform(get("/api/posts")
+        MvcResult mvcResult = performAsync(get("/api/posts")
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(helper.bearerToken(""))
         )
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").exists())
-                .andExpect(jsonPath("$[0].title").exists())
-                .andExpect(jsonPath("$[0].content").exists())
-                .andExpect(jsonPath("$[0].owner_name").exists())
-                .andExpect(jsonPath("$[0].created_at").exists())
-                .andExpect(jsonPath("$[0].updated_at").exists())
+                .andExpect(jsonPath("$.posts[0].id").exists())
+                .andExpect(jsonPath("$.posts[0].title").exists())
+                .andExpect(jsonPath("$.posts[0].content").exists())
+                .andExpect(jsonPath("$.posts[0].owner_name").exists())
+                .andExpect(jsonPath("$.posts[0].created_at").exists())
+                .andExpect(jsonPath("$.posts[0].updated_at").exists())
                 .andReturn();
         String res = mvcResult.getResponse().getContentAsString();
-        List<PostResponseDto> dtoList = objectMapper.readValue(res, objectMapper.getTypeFactory().constructCollectionType(List.class, PostResponseDto.class));
+        List<PostSummaryDto> dtoList = objectMapper.readValue(res, PostPageResponseDto.class).getPosts();
         assertEquals(5, dtoList.size());
 
         for (int i=0; i<5; i++) {
@@ -132,20 +160,20 @@ class PostControllerTest {
     @DisplayName("GET /api/posts?username=* test: exist username")
     public void getPostListTest_FindByUsername() throws Exception {
         MvcResult mvcResult;
-        mvcResult = mockMvc.perform(get("/api/posts?username=test_user")
+        mvcResult = performAsync(get("/api/posts?username=test_user")
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").exists())
-                .andExpect(jsonPath("$[0].title").exists())
-                .andExpect(jsonPath("$[0].content").exists())
-                .andExpect(jsonPath("$[0].owner_name").exists())
-                .andExpect(jsonPath("$[0].created_at").exists())
-                .andExpect(jsonPath("$[0].updated_at").exists())
+                .andExpect(jsonPath("$.posts[0].id").exists())
+                .andExpect(jsonPath("$.posts[0].title").exists())
+                .andExpect(jsonPath("$.posts[0].content").exists())
+                .andExpect(jsonPath("$.posts[0].owner_name").exists())
+                .andExpect(jsonPath("$.posts[0].created_at").exists())
+                .andExpect(jsonPath("$.posts[0].updated_at").exists())
                 .andReturn();
         String res = mvcResult.getResponse().getContentAsString();
-        List<PostResponseDto> dtoList = objectMapper.readValue(res, objectMapper.getTypeFactory().constructCollectionType(List.class, PostResponseDto.class));
+        List<PostSummaryDto> dtoList = objectMapper.readValue(res, PostPageResponseDto.class).getPosts();
 
         for (int i=0; i<5; i++) {
             int no = 5 - i;
@@ -160,35 +188,160 @@ class PostControllerTest {
     @DisplayName("GET /api/posts?username=* test: empty list")
     public void getPostListTest_FindByUsername_empty_list() throws Exception {
         MvcResult mvcResult;
-        mvcResult = mockMvc.perform(get("/api/posts?username=test")
+        mvcResult = performAsync(get("/api/posts?username=test")
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().string("[]"))
+                .andExpect(jsonPath("$.posts").isEmpty())
                 .andReturn();
         String res = mvcResult.getResponse().getContentAsString();
-        List<PostResponseDto> dtoList = objectMapper.readValue(res, objectMapper.getTypeFactory().constructCollectionType(List.class, PostResponseDto.class));
+        List<PostSummaryDto> dtoList = objectMapper.readValue(res, PostPageResponseDto.class).getPosts();
         assertEquals(0, dtoList.size());
     }
 
+    @Test
+    @DisplayName("GET /api/posts test: 긴 content는 preview로 잘림")
+    public void getPostListTest_ContentPreview() throws Exception {
+        String content = "a".repeat(PostSummaryDto.PREVIEW_LENGTH * 2);
+        repository.save(Post.builder()
+                .title("long title")
+                .content(content)
+                .ownerName("test_user")
+                .build());
+
+        performAsync(get("/api/posts?limit=1")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].title").value("long title"))
+                .andExpect(jsonPath("$.posts[0].content").value(content.substring(0, PostSummaryDto.PREVIEW_LENGTH)))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /api/posts?limit=*&cursor=* test")
+    public void getPostListTest_WithCursor() throws Exception {
+        MvcResult mvcResult = performAsync(get("/api/posts?limit=2")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(2))
+                .andExpect(jsonPath("$.next_cursor").exists())
+                .andReturn();
+        PostPageResponseDto page = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), PostPageResponseDto.class);
+        assertEquals("test title 5", page.getPosts().get(0).getTitle());
+        assertEquals("test title 4", page.getPosts().get(1).getTitle());
+
+        mvcResult = performAsync(get("/api/posts?limit=2&cursor=" + page.getNext_cursor())
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(2))
+                .andReturn();
+        page = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), PostPageResponseDto.class);
+        assertEquals("test title 3", page.getPosts().get(0).getTitle());
+        assertEquals("test title 2", page.getPosts().get(1).getTitle());
+
+        performAsync(get("/api/posts?limit=2&cursor=" + page.getNext_cursor())
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(1))
+                .andExpect(jsonPath("$.posts[0].title").value("test title 1"))
+                .andExpect(jsonPath("$.next_cursor").isEmpty())
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /api/posts?cursor=* test 실패: 잘못된 cursor")
+    public void getPostListTestFailed_invalid_cursor() throws Exception {
+        performAsync(get("/api/posts?cursor=invalid")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message").value("Cursor: invalid is invalid."))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/export?username=* test")
+    public void exportPostListTest() throws Exception {
+        repository.save(Post.builder()
+                .title("other title")
+                .content("other content")
+                .ownerName("other_user")
+                .build());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/posts/export?username=test_user")
+                .with(helper.bearerToken("")))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String[] lines = mvcResult.getResponse().getContentAsString().split("\n");
+        assertEquals(5, lines.length);
+
+        for (int i=0; i<5; i++) {
+            int no = i + 1;
+            PostResponseDto dto = objectMapper.readValue(lines[i], PostResponseDto.class);
+            assertEquals("test title " + no, dto.getTitle());
+            assertEquals("test content " + no, dto.getContent());
+            assertEquals("test_user", dto.getOwner_name());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/export test: admin scope 필요, 동시 export 는 제한")
+    public void exportPostListTest_restricted() throws Exception {
+        mockMvc.perform(get("/api/posts/export"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/posts/export")
+                .with(helper.bearerToken("", Set.of("read", "write"))))
+                .andExpect(status().isForbidden());
+
+        // the test profile allows one export at a time
+        assertTrue(exporter.tryAcquire());
+
+        try {
+            mockMvc.perform(get("/api/posts/export")
+                    .with(helper.bearerToken("")))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(jsonPath("message").value("Too many exports are running."));
+        } finally {
+            exporter.release();
+        }
+
+        mockMvc.perform(get("/api/posts/export")
+                .with(helper.bearerToken("")))
+                .andExpect(status().isOk());
+        assertTrue(exporter.tryAcquire());
+        exporter.release();
+    }
+
     @Test
     @DisplayName("GET /api/posts/search test")
     public void getPostListSearchTest() throws Exception {
-        MvcResult mvcResult = mockMvc.perform(get("/api/posts/search")
+        MvcResult mvcResult = performAsync(get("/api/posts/search")
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").exists())
-                .andExpect(jsonPath("$[0].title").exists())
-                .andExpect(jsonPath("$[0].content").exists())
-                .andExpect(jsonPath("$[0].owner_name").exists())
-                .andExpect(jsonPath("$[0].created_at").exists())
-                .andExpect(jsonPath("$[0].updated_at").exists())
+                .andExpect(jsonPath("$.posts[0].id").exists())
+                .andExpect(jsonPath("$.posts[0].title").exists())
+                .andExpect(jsonPath("$.posts[0].content").exists())
+                .andExpect(jsonPath("$.posts[0].owner_name").exists())
+                .andExpect(jsonPath("$.posts[0].created_at").exists())
+                .andExpect(jsonPath("$.posts[0].updated_at").exists())
                 .andReturn();
         String res = mvcResult.getResponse().getContentAsString();
-        List<PostResponseDto> dtoList = objectMapper.readValue(res, objectMapper.getTypeFactory().constructCollectionType(List.class, PostResponseDto.class));
+        List<PostSummaryDto> dtoList = objectMapper.readValue(res, PostPageResponseDto.class).getPosts();
         assertEquals(5, dtoList.size());
 
         for (int i=0; i<5; i++) {
@@ -205,42 +358,119 @@ class PostControllerTest {
     public void getPostListSearchTest_FindByKeyword() throws Exception {
         int no = 4;
         MvcResult mvcResult;
-        mvcResult = mockMvc.perform(get("/api/posts/search?keyword=nt " + no)
+        mvcResult = performAsync(get("/api/posts/search?keyword=content " + no)
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").exists())
-                .andExpect(jsonPath("$[0].title").exists())
-                .andExpect(jsonPath("$[0].content").exists())
-                .andExpect(jsonPath("$[0].owner_name").exists())
-                .andExpect(jsonPath("$[0].created_at").exists())
-                .andExpect(jsonPath("$[0].updated_at").exists())
+                .andExpect(jsonPath("$.posts[0].id").exists())
+                .andExpect(jsonPath("$.posts[0].title").exists())
+                .andExpect(jsonPath("$.posts[0].content").exists())
+                .andExpect(jsonPath("$.posts[0].owner_name").exists())
+                .andExpect(jsonPath("$.posts[0].created_at").exists())
+                .andExpect(jsonPath("$.posts[0].updated_at").exists())
                 .andReturn();
         String res = mvcResult.getResponse().getContentAsString();
-        List<PostResponseDto> dtoList = objectMapper.readValue(res, objectMapper.getTypeFactory().constructCollectionType(List.class, PostResponseDto.class));
+        List<PostSummaryDto> dtoList = objectMapper.readValue(res, PostPageResponseDto.class).getPosts();
 
-        for (PostResponseDto dto : dtoList) {
+        for (PostSummaryDto dto : dtoList) {
             assertEquals("test title " + no, dto.getTitle());
             assertEquals("test content " + no, dto.getContent());
             assertEquals("test_user", dto.getOwner_name());
         }
     }
 
+    @Test
+    @DisplayName("GET /api/posts/search?keyword=* test: 한글 keyword")
+    public void getPostListSearchTest_FindByKoreanKeyword() throws Exception {
+        Post saved = repository.save(Post.builder()
+                .title("자유 게시판 공지")
+                .content("게시판 이용 규칙을 안내합니다.")
+                .ownerName("test_user")
+                .build());
+
+        performAsync(get("/api/posts/search?keyword=게시판")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(1))
+                .andExpect(jsonPath("$.posts[0].id").value(saved.getId()))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/search?keyword=*&limit=*&cursor=* test")
+    public void getPostListSearchTest_WithCursor() throws Exception {
+        Set<Long> ids = new HashSet<>();
+        String cursor = null;
+
+        do {
+            String url = "/api/posts/search?keyword=test&limit=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            MvcResult mvcResult = performAsync(get(url)
+                    .contentType(MediaType.APPLICATION_JSON)
+            )
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andReturn();
+            PostPageResponseDto page = objectMapper.readValue(mvcResult.getResponse().getContentAsString(), PostPageResponseDto.class);
+            page.getPosts().forEach(dto -> ids.add(dto.getId()));
+            cursor = page.getNext_cursor();
+        } while (cursor != null);
+
+        assertEquals(5, ids.size());
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/search?keyword= test: 빈 keyword 는 전체 목록")
+    public void getPostListSearchTest_blank_keyword() throws Exception {
+        performAsync(get("/api/posts/search?keyword=")
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(5))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/search?keyword=* test: 다른 instance 의 write 는 refresh 로 index 에 반영")
+    public void getPostListSearchTest_refresh() throws Exception {
+        List<Post> posts = repository.findAll();
+        LocalDateTime now = LocalDateTime.now();
+        // written behind this instance's back, as another instance would
+        jdbcTemplate.update("update post set title = ?, updated_at = ? where id = ?", "elsewhere written", now, posts.get(0).getId());
+        jdbcTemplate.update("update post set deleted_at = ? where id = ?", now, posts.get(1).getId());
+
+        performAsync(get("/api/posts/search?keyword=elsewhere"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts").isEmpty())
+        ;
+
+        searchIndexInitializer.refresh();
+
+        performAsync(get("/api/posts/search?keyword=elsewhere"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(1))
+                .andExpect(jsonPath("$.posts[0].id").value(posts.get(0).getId()))
+        ;
+        // soft-deleted rows are hidden from the response anyway, so the index itself is checked
+        assertEquals(4, searchIndex.search("test", null, 100).size());
+    }
+
     @Test
     @DisplayName("GET /api/posts/search?keyword=* test: empty list")
     public void getPostListSearchTest_FindByUsername_empty_list() throws Exception {
         int no = 6;
         MvcResult mvcResult;
-        mvcResult = mockMvc.perform(get("/api/posts/search?keyword=nt " + no)
+        mvcResult = performAsync(get("/api/posts/search?keyword=content " + no)
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andDo(print())
                 .andExpect(status().isOk())
-                .andExpect(content().string("[]"))
+                .andExpect(jsonPath("$.posts").isEmpty())
                 .andReturn();
         String res = mvcResult.getResponse().getContentAsString();
-        List<PostResponseDto> dtoList = objectMapper.readValue(res, objectMapper.getTypeFactory().constructCollectionType(List.class, PostResponseDto.class));
+        List<PostSummaryDto> dtoList = objectMapper.readValue(res, PostPageResponseDto.class).getPosts();
         assertEquals(0, dtoList.size());
     }
 
@@ -248,8 +478,8 @@ class PostControllerTest {
     @DisplayName("GET /api/posts/:id test")
     public void getPostTest() throws Exception {
         List<Post> all = repository.findAll();
-        Post post = all.get(0);
-        mockMvc.perform(get("/api/posts/"+post.getId())
+        Post post = repository.findWithContentById(all.get(0).getId()).get();
+        performAsync(get("/api/posts/"+post.getId())
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andDo(print())
@@ -262,13 +492,44 @@ class PostControllerTest {
                 .andExpect(jsonPath("updated_at").value(post.getUpdatedAt().format(DateTimeFormatter.ofPattern(PATTERN))))
                 ;
     }
+    @Test
+    @DisplayName("GET /api/posts/:id test: 수정 후 캐시 무효화")
+    public void getPostTest_after_update() throws Exception {
+        Long id = repository.findAll().get(0).getId();
+        performAsync(get("/api/posts/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("title").value("test title 1"));
+
+        UpdatePostRequestDto requestDto = UpdatePostRequestDto.builder()
+                .title("update title")
+                .content("update content")
+                .build();
+        performAsync(put("/api/posts/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto))
+                .with(helper.bearerToken(""))
+        )
+                .andExpect(status().isOk());
+
+        performAsync(get("/api/posts/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("title").value(requestDto.getTitle()))
+                .andExpect(jsonPath("content").value(requestDto.getContent()))
+        ;
+    }
+
     @Test
     @DisplayName("GET /api/posts/:id test 실패: 존재하지 않는 postID")
     public void getPostTestFailed_not_exist_post_id() throws Exception {
         List<Post> all = repository.findAll();
         Post post = all.get(all.size()-1);
         long id = post.getId() + 1;
-        mockMvc.perform(get("/api/posts/" + id)
+        performAsync(get("/api/posts/" + id)
                 .contentType(MediaType.APPLICATION_JSON)
         )
                 .andDo(print())
@@ -285,7 +546,7 @@ class PostControllerTest {
                 .content("create title")
                 .build();
 
-        mockMvc.perform(post("/api/posts/")
+        performAsync(post("/api/posts/")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDto))
                 .with(helper.bearerToken("0"))
@@ -346,7 +607,7 @@ class PostControllerTest {
         CreatePostRequestDto requestDto = CreatePostRequestDto.builder()
                 .build();
 
-        mockMvc.perform(post("/api/posts/")
+        performAsync(post("/api/posts/")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDto))
                 .with(helper.bearerToken(""))
@@ -365,7 +626,7 @@ class PostControllerTest {
                 .content("update title")
                 .build();
 
-        mockMvc.perform(put("/api/posts/"+id)
+        performAsync(put("/api/posts/"+id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDto))
                 .with(helper.bearerToken(""))
@@ -391,7 +652,7 @@ class PostControllerTest {
                 .content("update title")
                 .build();
 
-        mockMvc.perform(put("/api/posts/"+id)
+        performAsync(put("/api/posts/"+id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDto))
                 .with(helper.bearerToken("0"))
@@ -452,13 +713,13 @@ class PostControllerTest {
                 .content("update title")
                 .build();
 
-        mockMvc.perform(put("/api/posts/"+id)
+        performAsync(put("/api/posts/"+id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDto))
                 .with(helper.bearerToken("0"))
         )
                 .andDo(print())
-                .andExpect(status().isUnauthorized())
+                .andExpect(status().isForbidden())
                 .andExpect(jsonPath("message").value("Owner is different."))
         ;
     }
@@ -470,7 +731,7 @@ class PostControllerTest {
         UpdatePostRequestDto requestDto = UpdatePostRequestDto.builder()
                 .build();
 
-        mockMvc.perform(put("/api/posts/"+id)
+        performAsync(put("/api/posts/"+id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(requestDto))
                 .with(helper.bearerToken(""))
@@ -485,18 +746,17 @@ class PostControllerTest {
     @DisplayName("DELTE /api/posts/:id test")
     public void deletePostTest() throws Exception {
         Long id = repository.findAll().get(0).getId();
-        mockMvc.perform(delete("/api/posts/"+id)
+        performAsync(delete("/api/posts/"+id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(helper.bearerToken(""))
         )
                 .andDo(print())
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("id").exists())
-                .andExpect(jsonPath("title").value("test title 1"))
-                .andExpect(jsonPath("content").value("test content 1"))
-                .andExpect(jsonPath("owner_name").value("test_user"))
-                .andExpect(jsonPath("created_at").exists())
-                .andExpect(jsonPath("updated_at").exists())
+                .andExpect(status().isNoContent())
+                .andExpect(content().string(""))
+        ;
+
+        performAsync(get("/api/posts/" + id))
+                .andExpect(status().isNotFound())
         ;
     }
 
@@ -505,7 +765,7 @@ class PostControllerTest {
     public void deletePostTestFailed_not_exist_post_id() throws Exception {
         List<Post> all = repository.findAll();
         long id = (all.get(all.size()-1).getId() + 1L);
-        mockMvc.perform(delete("/api/posts/"+id)
+        performAsync(delete("/api/posts/"+id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(helper.bearerToken(""))
         )
@@ -549,13 +809,485 @@ class PostControllerTest {
     @DisplayName("DELETE /api/posts/:id test 실패: 권한이 없는 user")
     public void deletePostTestFailed_not_owner() throws Exception {
         Long id = repository.findAll().get(0).getId();
-        mockMvc.perform(delete("/api/posts/"+id)
+        performAsync(delete("/api/posts/"+id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .with(helper.bearerToken("0"))
         )
                 .andDo(print())
-                .andExpect(status().isUnauthorized())
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("message").value("Owner is different."))
+        ;
+    }
+
+    @Test
+    @DisplayName("POST /api/posts/bulk test")
+    public void createPostsTest() throws Exception {
+        BulkCreatePostRequestDto requestDto = BulkCreatePostRequestDto.builder()
+                .posts(IntStream.rangeClosed(1, 120)
+                        .mapToObj(i -> CreatePostRequestDto.builder()
+                                .title("bulk title " + i)
+                                .content("bulk content " + i)
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+
+        performAsync(post("/api/posts/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto))
+                .with(helper.bearerToken("0"))
+        )
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(120))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].title").value("bulk title 1"))
+                .andExpect(jsonPath("$[119].title").value("bulk title 120"))
+                .andExpect(jsonPath("$[0].owner_name").value("test_user0"))
+                .andExpect(jsonPath("$[0].created_at").exists())
+        ;
+
+        assertEquals(125, repository.count());
+    }
+
+    @Test
+    @DisplayName("POST /api/posts/bulk test 실패: 잘못된 값")
+    public void createPostsTestFailed_wrong_value() throws Exception {
+        BulkCreatePostRequestDto requestDto = BulkCreatePostRequestDto.builder()
+                .posts(List.of(CreatePostRequestDto.builder().title("bulk title").content("bulk content").build(),
+                        CreatePostRequestDto.builder().build()))
+                .build();
+
+        performAsync(post("/api/posts/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto))
+                .with(helper.bearerToken(""))
+        )
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+        ;
+
+        assertEquals(5, repository.count());
+    }
+
+    @Test
+    @DisplayName("PUT /api/posts/bulk test")
+    public void updatePostsTest() throws Exception {
+        List<Post> all = repository.findAllWithContentByIdIn(repository.findAll().stream()
+                .map(Post::getId)
+                .collect(Collectors.toList()));
+        BulkUpdatePostRequestDto requestDto = BulkUpdatePostRequestDto.builder()
+                .posts(all.stream()
+                        .map(p -> BulkUpdatePostItemDto.builder()
+                                .id(p.getId())
+                                .title("update " + p.getTitle())
+                                .content("update " + p.getContent())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+
+        performAsync(put("/api/posts/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto))
+                .with(helper.bearerToken(""))
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(all.size()))
+                .andExpect(jsonPath("$[0].id").value(all.get(0).getId()))
+                .andExpect(jsonPath("$[0].title").value("update " + all.get(0).getTitle()))
+        ;
+
+        assertEquals("update " + all.get(0).getContent(), repository.findWithContentById(all.get(0).getId()).get().getContent());
+    }
+
+    @Test
+    @DisplayName("PUT /api/posts/bulk test 실패: 권한이 없는 user")
+    public void updatePostsTestFailed_has_unauthorized_user() throws Exception {
+        Post post = repository.findAll().get(0);
+        BulkUpdatePostRequestDto requestDto = BulkUpdatePostRequestDto.builder()
+                .posts(List.of(BulkUpdatePostItemDto.builder()
+                        .id(post.getId())
+                        .title("update title")
+                        .content("update content")
+                        .build()))
+                .build();
+
+        performAsync(put("/api/posts/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto))
+                .with(helper.bearerToken("0"))
+        )
+                .andDo(print())
+                .andExpect(status().isForbidden())
                 .andExpect(jsonPath("message").value("Owner is different."))
         ;
+
+        assertEquals(post.getTitle(), repository.findById(post.getId()).get().getTitle());
+    }
+
+    @Test
+    @DisplayName("DELETE /api/posts/bulk test")
+    public void deletePostsTest() throws Exception {
+        List<Post> all = repository.findAll();
+        String ids = all.get(0).getId() + "," + all.get(1).getId();
+
+        performAsync(get("/api/posts/" + all.get(0).getId()))
+                .andExpect(status().isOk())
+        ;
+
+        performAsync(delete("/api/posts/bulk?ids=" + ids)
+                .contentType(MediaType.APPLICATION_JSON)
+                .with(helper.bearerToken(""))
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(all.get(0).getId()))
+        ;
+
+        assertEquals(3, repository.count());
+        // one timestamp from the application for the whole request, as a single delete stamps it
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(distinct deleted_at) from post where id in (" + ids + ")", Integer.class));
+
+        performAsync(get("/api/posts/" + all.get(0).getId()))
+                .andExpect(status().isNotFound())
+        ;
+    }
+
+    @Test
+    @DisplayName("DELETE /api/posts/bulk test 실패: 존재하지 않는 id")
+    public void deletePostsTestFailed_not_exist_post_id() throws Exception {
+        List<Post> all = repository.findAll();
+        long id = (all.get(all.size()-1).getId() + 1L);
+
+        performAsync(delete("/api/posts/bulk?ids=" + all.get(0).getId() + "," + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .with(helper.bearerToken(""))
+        )
+                .andDo(print())
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("message").value("Post ID: " + id + " is not exist."))
+        ;
+
+        assertEquals(5, repository.count());
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/:id test: If-None-Match 일치 시 304")
+    public void getPostTest_NotModified() throws Exception {
+        Long id = repository.findAll().get(0).getId();
+        MvcResult mvcResult = performAsync(get("/api/posts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String eTag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        performAsync(get("/api/posts/" + id)
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /api/posts/:id test: cross-origin 요청에 ETag, Last-Modified, RateLimit-*, Retry-After 노출")
+    public void getPostTest_cors_exposed_headers() throws Exception {
+        Long id = repository.findAll().get(0).getId();
+        performAsync(get("/api/posts/" + id)
+                .header(HttpHeaders.ORIGIN, "http://localhost:3000"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, containsString(HttpHeaders.ETAG)))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, containsString(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, containsString("RateLimit-Remaining")))
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, containsString(HttpHeaders.RETRY_AFTER)))
+        ;
+    }
+
+    @Test
+    @DisplayName("GET /api/posts test: If-None-Match 일치 시 304, 변경 후 200")
+    public void getPostListTest_NotModified() throws Exception {
+        MvcResult mvcResult = performAsync(get("/api/posts"))
+                .andExpect(status().isOk())
+                .andReturn();
+        String eTag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+
+        performAsync(get("/api/posts")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+        ;
+
+        repository.deleteById(repository.findAll().get(0).getId());
+
+        performAsync(get("/api/posts")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(4))
+        ;
+    }
+
+    @Test
+    @DisplayName("PUT /api/posts/:id test 실패: If-Match 불일치 시 412")
+    public void updatePostTestFailed_precondition_failed() throws Exception {
+        Long id = repository.findAll().get(0).getId();
+        UpdatePostRequestDto requestDto = UpdatePostRequestDto.builder()
+                .title("update title")
+                .content("update title")
+                .build();
+
+        performAsync(put("/api/posts/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto))
+                .header(HttpHeaders.IF_MATCH, "\"stale\"")
+                .with(helper.bearerToken(""))
+        )
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("message").value("Post ID: " + id + " has been modified."))
+        ;
+
+        String eTag = performAsync(get("/api/posts/" + id)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        performAsync(put("/api/posts/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto))
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .with(helper.bearerToken(""))
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("title").value(requestDto.getTitle()))
+        ;
+    }
+
+    @Test
+    @DisplayName("PUT /api/posts/:id test 실패: 다른 요청이 먼저 수정한 경우 412")
+    public void updatePostTestFailed_lost_update() throws Exception {
+        Long id = repository.findAll().get(0).getId();
+        String eTag = performAsync(get("/api/posts/" + id)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        UpdatePostRequestDto first = UpdatePostRequestDto.builder()
+                .title("first title")
+                .content("first content")
+                .build();
+        UpdatePostRequestDto second = UpdatePostRequestDto.builder()
+                .title("second title")
+                .content("second content")
+                .build();
+
+        String updatedETag = performAsync(put("/api/posts/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(first))
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .with(helper.bearerToken(""))
+        )
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        performAsync(put("/api/posts/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(second))
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .with(helper.bearerToken(""))
+        )
+                .andDo(print())
+                .andExpect(status().isPreconditionFailed())
+        ;
+
+        performAsync(delete("/api/posts/" + id)
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .with(helper.bearerToken(""))
+        )
+                .andExpect(status().isPreconditionFailed())
+        ;
+
+        performAsync(delete("/api/posts/" + id)
+                .header(HttpHeaders.IF_MATCH, updatedETag)
+                .with(helper.bearerToken(""))
+        )
+                .andExpect(status().isNoContent())
+        ;
+    }
+
+    @Test
+    @DisplayName("PUT /api/posts/:id test: Prefer return=minimal 시 204")
+    public void updatePostTest_return_minimal() throws Exception {
+        Long id = repository.findAll().get(0).getId();
+        String eTag = performAsync(get("/api/posts/" + id)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        UpdatePostRequestDto requestDto = UpdatePostRequestDto.builder()
+                .title("minimal title")
+                .content("minimal content")
+                .build();
+
+        String updatedETag = performAsync(put("/api/posts/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto))
+                .header(HttpHeaders.IF_MATCH, eTag)
+                .header("Prefer", "return=minimal")
+                .with(helper.bearerToken(""))
+        )
+                .andDo(print())
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Preference-Applied", "return=minimal"))
+                .andExpect(content().string(""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        performAsync(get("/api/posts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, updatedETag))
+                .andExpect(jsonPath("title").value(requestDto.getTitle()))
+        ;
+
+    }
+
+    @Test
+    @DisplayName("DELETE /api/posts/:id test: 삭제 후 cache 무효화, 다시 삭제하면 404")
+    public void deletePostTest_cache_invalidated() throws Exception {
+        Long id = repository.findAll().get(0).getId();
+
+        performAsync(get("/api/posts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("title").value("test title 1"))
+        ;
+
+        performAsync(delete("/api/posts/" + id)
+                .with(helper.bearerToken(""))
+        )
+                .andExpect(status().isNoContent())
+        ;
+
+        performAsync(get("/api/posts/" + id))
+                .andExpect(status().isNotFound())
+        ;
+
+        performAsync(delete("/api/posts/" + id)
+                .with(helper.bearerToken(""))
+        )
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("message").value("Post ID: " + id + " is not exist."))
+        ;
+    }
+
+    @Test
+    @DisplayName("DELETE /api/posts/:id test: soft delete 후 archive 이동, cold post 는 archive 에서 조회")
+    public void deletePostTest_archive() throws Exception {
+        List<Post> posts = repository.findAll();
+        Long deletedId = posts.get(0).getId();
+        Long coldId = posts.get(1).getId();
+
+        performAsync(delete("/api/posts/" + deletedId)
+                .with(helper.bearerToken(""))
+        )
+                .andExpect(status().isNoContent())
+        ;
+
+        assertThat(repository.findById(deletedId)).isEmpty();
+        assertThat(archiver.archiveDeletedBefore(LocalDateTime.now().plusSeconds(1))).isGreaterThanOrEqualTo(1);
+        assertThat(archiveRepository.findById(deletedId)).hasValueSatisfying(post -> assertThat(post.getDeletedAt()).isNotNull());
+
+        assertThat(archiver.archiveNotUpdatedSince(LocalDateTime.now().plusSeconds(1))).isEqualTo(posts.size() - 1);
+        assertThat(repository.findById(coldId)).isEmpty();
+
+        performAsync(get("/api/posts/" + deletedId))
+                .andExpect(status().isNotFound())
+        ;
+
+        performAsync(get("/api/posts/" + coldId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("id").value(coldId))
+        ;
+
+        performAsync(get("/api/posts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(0))
+        ;
+    }
+
+    @Test
+    @DisplayName("PUT /api/posts/:id test: 긴 content 는 압축 저장, 목록은 preview 로 조회")
+    public void updatePostTest_compressed_content() throws Exception {
+        Long id = repository.findAll().get(0).getId();
+        UpdatePostRequestDto requestDto = UpdatePostRequestDto.builder()
+                .title("long title")
+                .content("긴 본문 long content ".repeat(500))
+                .build();
+
+        performAsync(put("/api/posts/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requestDto))
+                .with(helper.bearerToken(""))
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content").value(requestDto.getContent()))
+        ;
+
+        performAsync(get("/api/posts/" + id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content").value(requestDto.getContent()))
+        ;
+
+        performAsync(get("/api/posts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[?(@.id == " + id + ")].content")
+                        .value(requestDto.getContent().substring(0, PostSummaryDto.PREVIEW_LENGTH)))
+        ;
+
+        assertThat(repository.findWithContentById(id)).hasValueSatisfying(post -> {
+            assertThat(post.getContent()).isEqualTo(requestDto.getContent());
+            assertThat(post.getPreview()).isEqualTo(requestDto.getContent().substring(0, PostSummaryDto.PREVIEW_LENGTH));
+        });
+        assertThat(jdbcTemplate.queryForObject("select content from post where id = ?", String.class, id))
+                .startsWith(PostContentCodec.MARKER);
+    }
+
+    @Test
+    @DisplayName("GET /api/posts test: view=full 이면 전체 content, 잘못된 view 는 400")
+    public void getPostsTest_view() throws Exception {
+        Long id = repository.findAll().get(0).getId();
+        String content = "긴 본문 long content ".repeat(50);
+        performAsync(put("/api/posts/" + id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(UpdatePostRequestDto.builder()
+                        .title("long title")
+                        .content(content)
+                        .build()))
+                .with(helper.bearerToken(""))
+        )
+                .andExpect(status().isOk())
+        ;
+
+        performAsync(get("/api/posts")
+                .param("view", "full")
+        )
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts.length()").value(5))
+                .andExpect(jsonPath("$.posts[?(@.id == " + id + ")].content").value(content))
+        ;
+
+        performAsync(get("/api/posts/search")
+                .param("keyword", "long")
+                .param("view", "full")
+        )
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].content").value(content))
+        ;
+
+        performAsync(get("/api/posts")
+                .param("view", "everything")
+        )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("message").value("View: everything is not supported."))
+        ;
+    }
+
+    // handlers complete on the post executor, so the response is only available after the async dispatch
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(mvcResult));
     }
-}
\ No newline at end of file
+}
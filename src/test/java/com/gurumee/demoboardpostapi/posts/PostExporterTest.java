@@ -0,0 +1,70 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.configs.oauth.OAuthHelper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// a real connection, so the export has to outlast an async request timeout far shorter than the dump
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:post-export",
+        "spring.mvc.async.request-timeout=50ms"
+})
+@ActiveProfiles("test")
+class PostExporterTest {
+    private static final int POSTS = 2000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OAuthHelper helper;
+
+    @Autowired
+    private PostRepository repository;
+
+    @Test
+    @DisplayName("export 는 async request timeout 보다 오래 걸려도 끝까지 stream")
+    public void exportPastAsyncTimeoutTest() throws Exception {
+        String content = "test content ".repeat(100);
+        repository.saveAll(IntStream.rangeClosed(1, POSTS)
+                .mapToObj(i -> Post.builder()
+                        .title("test title " + i)
+                        .content(content)
+                        .ownerName("test_user")
+                        .build())
+                .collect(Collectors.toList()));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/api/posts/export"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + helper.accessToken(""))
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, response.statusCode());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+            reader.readLine();
+            // a slow client: the dump is larger than the socket buffers, so the server waits on this read
+            Thread.sleep(200);
+            assertEquals(POSTS - 1, reader.lines().filter(line -> !line.isEmpty()).count());
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PostFeedTest {
+    // the smallest feed PostFeed keeps: one post beyond the largest page
+    private final static int FEED_SIZE = PostController.MAX_PAGE_SIZE + 1;
+    private final static long NEWEST = FEED_SIZE * 2;
+    private final static LocalDateTime NOW = LocalDateTime.of(2021, 1, 1, 0, 0);
+
+    private PostRepository postRepository;
+    private PostFeed postFeed;
+    private List<PostSummaryDto> stored;
+
+    @BeforeEach
+    public void setUp() {
+        postRepository = mock(PostRepository.class);
+        AppProperties appProperties = AppProperties.builder()
+                .postFeedSize(5)
+                .postFeedMaximumEntries(10000)
+                .postFeedExpireAfterWrite(Duration.ofMinutes(1))
+                .build();
+        postFeed = new PostFeed(postRepository, appProperties, new SimpleMeterRegistry());
+
+        // newest first, ids NEWEST..1
+        stored = LongStream.rangeClosed(1, NEWEST)
+                .map(i -> NEWEST + 1 - i)
+                .mapToObj(PostFeedTest::summary)
+                .collect(Collectors.toCollection(ArrayList::new));
+        when(postRepository.findSummariesByOwnerName(eq("test_user"), any(Pageable.class)))
+                .thenAnswer(invocation -> stored.stream()
+                        .limit(((Pageable) invocation.getArgument(1)).getPageSize())
+                        .collect(Collectors.toList()));
+        when(postRepository.findSummariesByIdIn(anyCollection()))
+                .thenAnswer(invocation -> stored.stream()
+                        .filter(p -> ((Collection<?>) invocation.getArgument(0)).contains(p.getId()))
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("최근 page는 한 번 load 후 메모리에서")
+    public void servesRecentPagesFromMemory() {
+        assertEquals(List.of(NEWEST, NEWEST - 1, NEWEST - 2), ids(postFeed.page("test_user", null, 3)));
+        assertEquals(List.of(NEWEST - 3, NEWEST - 4), ids(postFeed.page("test_user", cursor(NEWEST - 2), 2)));
+        assertEquals(FEED_SIZE, ids(postFeed.page("test_user", null, FEED_SIZE)).size());
+        assertTrue(postFeed.page("test_user", cursor(NEWEST - FEED_SIZE + 3), 3).isEmpty());
+
+        verify(postRepository, times(1)).findSummariesByOwnerName(eq("test_user"), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("생성/삭제가 feed에 반영")
+    public void followsCreateAndDelete() {
+        postFeed.page("test_user", null, 1);
+
+        stored.add(0, summary(NEWEST + 1));
+        postFeed.onSave(List.of(Post.builder().id(NEWEST + 1).ownerName("test_user").build()));
+        assertEquals(List.of(NEWEST + 1, NEWEST, NEWEST - 1), ids(postFeed.page("test_user", null, 3)));
+
+        postFeed.onRemove("test_user", NEWEST);
+        assertEquals(List.of(NEWEST + 1, NEWEST - 1, NEWEST - 2), ids(postFeed.page("test_user", null, 3)));
+        assertEquals(FEED_SIZE - 1, ids(postFeed.page("test_user", null, FEED_SIZE - 1)).size());
+        assertTrue(postFeed.page("test_user", null, FEED_SIZE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("한 번에 저장된 post 는 한 query 로 feed 에 반영, feed 가 없는 user 는 query 없음")
+    public void followsBulkCreateWithOneQuery() {
+        postFeed.page("test_user", null, 1);
+
+        stored.add(0, summary(NEWEST + 1));
+        stored.add(0, summary(NEWEST + 2));
+        stored.add(0, summary(NEWEST + 3));
+        postFeed.onSave(List.of(
+                Post.builder().id(NEWEST + 1).ownerName("test_user").build(),
+                Post.builder().id(NEWEST + 2).ownerName("test_user").build(),
+                Post.builder().id(NEWEST + 3).ownerName("test_user").build(),
+                Post.builder().id(NEWEST + 4).ownerName("other_user").build()));
+
+        assertEquals(List.of(NEWEST + 3, NEWEST + 2, NEWEST + 1, NEWEST), ids(postFeed.page("test_user", null, 4)));
+        verify(postRepository, times(1)).findSummariesByIdIn(List.of(NEWEST + 1, NEWEST + 2, NEWEST + 3));
+
+        postFeed.onSave(List.of(Post.builder().id(NEWEST + 5).ownerName("other_user").build()));
+        verify(postRepository, times(1)).findSummariesByIdIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("post 수가 feed 크기보다 작으면 끝까지 메모리에서")
+    public void servesLastPageOfSmallFeed() {
+        stored = new ArrayList<>(stored.subList((int) NEWEST - 3, (int) NEWEST));
+
+        assertEquals(List.of(3L, 2L, 1L), ids(postFeed.page("test_user", null, 10)));
+        assertEquals(List.of(), ids(postFeed.page("test_user", cursor(1), 10)));
+    }
+
+    private static PostSummaryDto summary(long id) {
+        return PostSummaryDto.builder()
+                .id(id)
+                .title("test title " + id)
+                .content("test content " + id)
+                .owner_name("test_user")
+                .created_at(NOW.plusMinutes(id))
+                .updated_at(NOW.plusMinutes(id))
+                .build();
+    }
+
+    private static PostCursor cursor(long id) {
+        return new PostCursor(NOW.plusMinutes(id), id);
+    }
+
+    private static List<Long> ids(Optional<List<PostSummaryDto>> page) {
+        return page.orElseThrow().stream()
+                .map(PostSummaryDto::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,121 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// post_id_seq is emulated with a table as on MySQL, and every executor thread holds a connection while it inserts
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:post-id-allocation",
+        "spring.jpa.database-platform=com.gurumee.demoboardpostapi.posts.PostIdAllocationTest$TableSequenceH2Dialect",
+        "my-app.post-executor-pool-size=4",
+        "my-app.post-export-max-concurrent=1",
+        "my-app.db-pool-maximum-size=8",
+        "my-app.db-pool-minimum-idle=8",
+        "my-app.db-pool-connection-timeout=1s"
+})
+class PostIdAllocationTest {
+    public static class TableSequenceH2Dialect extends H2Dialect {
+        @Override
+        public boolean supportsSequences() {
+            return false;
+        }
+
+        @Override
+        public boolean supportsPooledSequences() {
+            return false;
+        }
+    }
+
+    @Autowired
+    private PostExecutor postExecutor;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PostIdSequenceSeeder postIdSequenceSeeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("executor 가 전부 connection 을 잡고 있어도 table 로 흉내낸 sequence 에서 id 를 받아 온다")
+    public void concurrentCreateTest() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            String title = "title " + i;
+            futures.add(postExecutor.submit(() -> transactionTemplate.execute(status -> {
+                postRepository.count();
+                return postRepository.save(Post.builder()
+                        .title(title)
+                        .content("content")
+                        .ownerName("test_user")
+                        .build()).getId();
+            })));
+        }
+
+        Set<Long> ids = new HashSet<>();
+
+        for (CompletableFuture<Long> future : futures) {
+            ids.add(future.get(30, TimeUnit.SECONDS));
+        }
+
+        assertEquals(200, ids.size());
+    }
+
+    @Test
+    @DisplayName("sequence table 이 기존 id 보다 뒤처져 있으면 시작할 때 margin 만큼 앞으로")
+    public void seedTest() {
+        long nextVal = nextVal();
+        postIdSequenceSeeder.run(null);
+        assertEquals(nextVal, nextVal());
+
+        // a post inserted by an instance still on AUTO_INCREMENT
+        long insertedId = nextVal + 10;
+        jdbcTemplate.update("insert into post (id, title, content, owner_name, created_at, updated_at, version) " +
+                "values (?, 'title', 'content', 'test_user', current_timestamp, current_timestamp, 0)", insertedId);
+
+        postIdSequenceSeeder.run(null);
+        assertEquals(insertedId + 1000000, nextVal());
+    }
+
+    private long nextVal() {
+        return jdbcTemplate.queryForObject("select next_val from post_id_seq", Long.class);
+    }
+
+    @Test
+    @DisplayName("executor 가 connection pool 을 다 쓰도록 설정하면 시작하지 않는다")
+    public void poolHeadroomTest() {
+        AppProperties appProperties = AppProperties.builder()
+                .postExecutorPoolSize(10)
+                .postExecutorQueueCapacity(10)
+                .postExportMaxConcurrent(2)
+                .dbPoolMaximumSize(10)
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> new PostExecutor(appProperties, new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,42 @@
+package com.gurumee.demoboardpostapi.posts;
+
+import com.gurumee.demoboardpostapi.commons.AppProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PostSearchIndexTest {
+    @TempDir
+    Path indexPath;
+
+    @Test
+    @DisplayName("commit 한 index 는 재시작 후 checkpoint 와 함께 재사용")
+    public void reopenTest() throws Exception {
+        AppProperties appProperties = AppProperties.builder()
+                .searchIndexPath(indexPath.toString())
+                .build();
+        LocalDateTime checkpoint = LocalDateTime.of(2021, 1, 1, 12, 30);
+
+        PostSearchIndex index = new PostSearchIndex(appProperties);
+        index.open();
+        assertEquals(Optional.empty(), index.checkpoint());
+        index.index(Post.builder().id(1L).title("공지 사항").content("게시판 이용 규칙").ownerName("test_user").build());
+        index.commit(checkpoint);
+        index.close();
+
+        PostSearchIndex reopened = new PostSearchIndex(appProperties);
+        reopened.open();
+        assertEquals(Optional.of(checkpoint), reopened.checkpoint());
+        List<PostSearchHit> hits = reopened.search("게시판", null, 10);
+        assertEquals(1, hits.size());
+        assertEquals(1L, hits.get(0).getId());
+        reopened.close();
+    }
+}